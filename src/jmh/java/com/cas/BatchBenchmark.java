@@ -0,0 +1,97 @@
+package com.cas;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Games per second over a fixed batch of random games, through the string API and through the
+ * primitive parser and evaluator.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+@OperationsPerInvocation(BatchBenchmark.NUMBER_OF_GAMES)
+public class BatchBenchmark {
+
+  static final int NUMBER_OF_GAMES = 10_000;
+
+  /** Fixed so that every run, and every baseline, plays the same games. */
+  private static final long SEED = 20_240_601L;
+
+  private final PokerGame pokerGame = new PokerGame(GameTracer.NO_OP);
+  private final String[][] blackHands = new String[NUMBER_OF_GAMES][];
+  private final String[][] whiteHands = new String[NUMBER_OF_GAMES][];
+  private final byte[][] lines = new byte[NUMBER_OF_GAMES][];
+  private final int[] codes = new int[CardParser.CARDS_PER_GAME];
+
+  @Setup
+  public void setUp() {
+    final Random random = new Random(SEED);
+    final int[] deck = new int[PackedCards.NUMBER_OF_CARDS];
+    for (int i = 0; i < deck.length; i++) deck[i] = i;
+
+    for (int game = 0; game < NUMBER_OF_GAMES; game++) {
+      for (int i = 0; i < CardParser.CARDS_PER_GAME; i++) {
+        final int j = i + random.nextInt(deck.length - i);
+        final int swap = deck[i];
+        deck[i] = deck[j];
+        deck[j] = swap;
+      }
+
+      blackHands[game] = new String[CardParser.CARDS_PER_HAND];
+      whiteHands[game] = new String[CardParser.CARDS_PER_HAND];
+      for (int i = 0; i < CardParser.CARDS_PER_HAND; i++) {
+        blackHands[game][i] = cardText(deck[i]);
+        whiteHands[game][i] = cardText(deck[CardParser.CARDS_PER_HAND + i]);
+      }
+      lines[game] =
+          String.format(
+                  "Black: %s  White: %s",
+                  String.join(" ", blackHands[game]), String.join(" ", whiteHands[game]))
+              .getBytes(StandardCharsets.US_ASCII);
+    }
+  }
+
+  @Benchmark
+  public int play() {
+    int blackWins = 0;
+    for (int game = 0; game < NUMBER_OF_GAMES; game++)
+      if (pokerGame.play(blackHands[game], whiteHands[game]).startsWith("PLAYER [BLACK]"))
+        blackWins++;
+    return blackWins;
+  }
+
+  @Benchmark
+  public int parseAndEvaluate() {
+    int blackWins = 0;
+    for (int game = 0; game < NUMBER_OF_GAMES; game++) {
+      final byte[] line = lines[game];
+      CardParser.parseGame(line, 0, line.length, codes);
+      final int black = HandEvaluator.evaluate(codes[0], codes[1], codes[2], codes[3], codes[4]);
+      final int white = HandEvaluator.evaluate(codes[5], codes[6], codes[7], codes[8], codes[9]);
+      if (black > white) blackWins++;
+    }
+    return blackWins;
+  }
+
+  private static String cardText(final int code) {
+    final Card card = Card.of(code);
+    return card.getValue() + card.getSuit().getLetter();
+  }
+}
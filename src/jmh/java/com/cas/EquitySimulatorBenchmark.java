@@ -0,0 +1,39 @@
+package com.cas;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/** Trials per second of {@link EquitySimulator}, Black showing three cards against nothing. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+@OperationsPerInvocation(EquitySimulatorBenchmark.TRIALS)
+public class EquitySimulatorBenchmark {
+
+  static final int TRIALS = 10_000_000;
+
+  private final EquitySimulator simulator =
+      new EquitySimulator(EquitySimulator.Config.builder().maxTrials(TRIALS).build());
+  private final int[] black = {
+    Card.of("AH").getCode(), Card.of("AD").getCode(), Card.of("5C").getCode()
+  };
+  private final int[] white = {};
+
+  @Benchmark
+  public EquitySimulator.Equity simulate() {
+    return simulator.simulate(black, white);
+  }
+}
@@ -0,0 +1,110 @@
+package com.cas;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Card parsing, hand construction and rank detection, one representative hand per rank. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class HandBenchmark {
+
+  @Param({
+    "STRAIGHT_FLUSH",
+    "FOUR_OF_A_KIND",
+    "FULL_HOUSE",
+    "FLUSH",
+    "STRAIGHT",
+    "THREE_OF_A_KIND",
+    "TWO_PAIRS",
+    "PAIR",
+    "HIGH_CARD"
+  })
+  private Rank rank;
+
+  private String[] cards;
+  private List<Card> parsedCards;
+  private String text;
+  private int[] codes;
+  private long packed;
+
+  @Setup
+  public void setUp() {
+    cards = sampleHand(rank);
+    parsedCards = new ArrayList<>();
+    for (String card : cards) parsedCards.add(Card.of(card));
+    text = String.join(" ", cards);
+    codes = new int[CardParser.CARDS_PER_HAND];
+    packed = CardParser.parseHand(text, 0, text.length(), codes, 0);
+  }
+
+  @Benchmark
+  public Card parseCard() {
+    return Card.of(cards[0]);
+  }
+
+  @Benchmark
+  public long parseHandIntoCodes() {
+    return CardParser.parseHand(text, 0, text.length(), codes, 0);
+  }
+
+  @Benchmark
+  public Hand newHand() {
+    return Hand.newHand(cards);
+  }
+
+  /** A Hand built from cards already parsed, as {@link #newHand()} without the parsing. */
+  @Benchmark
+  public Rank determineRank() {
+    return new Hand(parsedCards).getHighestRank();
+  }
+
+  @Benchmark
+  public int evaluateCodes() {
+    return HandEvaluator.evaluate(codes[0], codes[1], codes[2], codes[3], codes[4]);
+  }
+
+  @Benchmark
+  public int evaluatePacked() {
+    return HandEvaluator.evaluate(packed);
+  }
+
+  static String[] sampleHand(final Rank rank) {
+    switch (rank) {
+      case STRAIGHT_FLUSH:
+        return new String[] {"9H", "TH", "JH", "QH", "KH"};
+      case FOUR_OF_A_KIND:
+        return new String[] {"7C", "7D", "7H", "7S", "KD"};
+      case FULL_HOUSE:
+        return new String[] {"QC", "QD", "QS", "4H", "4C"};
+      case FLUSH:
+        return new String[] {"2D", "6D", "9D", "JD", "AD"};
+      case STRAIGHT:
+        return new String[] {"5C", "6D", "7H", "8S", "9C"};
+      case THREE_OF_A_KIND:
+        return new String[] {"8C", "8D", "8H", "2S", "JC"};
+      case TWO_PAIRS:
+        return new String[] {"3C", "3D", "TH", "TS", "AC"};
+      case PAIR:
+        return new String[] {"KC", "KD", "4H", "7S", "9C"};
+      default:
+        return new String[] {"2C", "5D", "8H", "JS", "AC"};
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package com.cas;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/** A single {@link PokerGame#play(String[], String[])} down each of its tie break paths. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PokerGameBenchmark {
+
+  /** Black's and White's hands for each way a game can be decided. */
+  public enum Scenario {
+    DIFFERENT_RANKS(
+        new String[] {"2H", "3D", "5S", "9C", "KD"}, new String[] {"2C", "3H", "4S", "8C", "8H"}),
+    HIGH_CARD_FIRST(
+        new String[] {"2H", "3D", "5S", "9C", "KD"}, new String[] {"2C", "3H", "4S", "8C", "AH"}),
+    HIGH_CARD_LAST(
+        new String[] {"2H", "4D", "5S", "9C", "KD"}, new String[] {"3C", "4H", "5C", "9D", "KH"}),
+    PAIR_VALUE(
+        new String[] {"2H", "2D", "5S", "9C", "KD"}, new String[] {"3C", "3H", "4S", "8C", "AH"}),
+    PAIR_KICKER(
+        new String[] {"7H", "7D", "5S", "9C", "KD"}, new String[] {"7C", "7S", "4S", "8C", "KH"}),
+    TWO_PAIRS_KICKER(
+        new String[] {"3C", "3D", "TH", "TS", "AC"}, new String[] {"3H", "3S", "TC", "TD", "KC"}),
+    FULL_HOUSE(
+        new String[] {"QC", "QD", "QS", "4H", "4C"}, new String[] {"JC", "JD", "JS", "AH", "AC"}),
+    FLUSH(
+        new String[] {"2D", "6D", "9D", "JD", "AD"}, new String[] {"3C", "6C", "9C", "JC", "AC"}),
+    TIE(new String[] {"2H", "3D", "5S", "9C", "KD"}, new String[] {"2D", "3H", "5C", "9S", "KH"});
+
+    private final String[] black;
+    private final String[] white;
+
+    Scenario(final String[] black, final String[] white) {
+      this.black = black;
+      this.white = white;
+    }
+  }
+
+  @Param private Scenario scenario;
+
+  private final PokerGame pokerGame = new PokerGame(GameTracer.NO_OP);
+  private String[] black;
+  private String[] white;
+  private Hand blackHand;
+  private Hand whiteHand;
+
+  @Setup
+  public void setUp() {
+    black = scenario.black;
+    white = scenario.white;
+    blackHand = Hand.newHand(black);
+    whiteHand = Hand.newHand(white);
+  }
+
+  @Benchmark
+  public String play() {
+    return pokerGame.play(black, white);
+  }
+
+  @Benchmark
+  public GameResult evaluateHands() {
+    return pokerGame.evaluate(blackHand, whiteHand);
+  }
+}
@@ -0,0 +1,187 @@
+package com.cas;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Plays a file of kata games, one {@code Black: 2H 3D 5S 9C KD  White: 2C 3H 4S 8C AH} line per
+ * game, and writes one result line per game: {@code Black wins.}, {@code White wins.} or {@code
+ * Tie.} Blank lines are skipped.
+ *
+ * <p>The input is memory mapped one window at a time and every line is parsed straight out of the
+ * mapped bytes by {@link CardParser} and evaluated by {@link HandEvaluator}, so no String, Card or
+ * Hand is created per game. Results are gathered in a buffer that is written to the output channel
+ * whenever it fills up.
+ *
+ * <pre>java -cp poker-game.jar com.cas.BatchRunner games.txt results.txt</pre>
+ */
+public class BatchRunner {
+
+  public static final int DEFAULT_WINDOW_SIZE = 64 << 20;
+
+  /** Length of the longest result line. */
+  static final int MAX_RESULT_LENGTH = 12;
+
+  private static final int OUTPUT_BUFFER_SIZE = 64 << 10;
+
+  private static final byte[] BLACK_WINS = "Black wins.\n".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] WHITE_WINS = "White wins.\n".getBytes(StandardCharsets.US_ASCII);
+  private static final byte[] TIE = "Tie.\n".getBytes(StandardCharsets.US_ASCII);
+
+  private final int windowSize;
+
+  public BatchRunner() {
+    this(DEFAULT_WINDOW_SIZE);
+  }
+
+  /** @param windowSize bytes mapped at once, which is also the longest line that can be read */
+  public BatchRunner(final int windowSize) {
+    if (windowSize <= 0)
+      throw new RuntimeException(String.format("Invalid mapping window size [%s]!", windowSize));
+    this.windowSize = windowSize;
+  }
+
+  public static void main(final String[] args) throws IOException {
+    if (args.length != 2)
+      throw new RuntimeException("Usage: BatchRunner <games file> <results file>");
+    new BatchRunner().run(Path.of(args[0]), Path.of(args[1]));
+  }
+
+  /**
+   * Plays every game in input and writes the results to output, replacing its content.
+   *
+   * @return the number of games played
+   */
+  public long run(final Path input, final Path output) throws IOException {
+    try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+        FileChannel out =
+            FileChannel.open(
+                output,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+      return run(in, out);
+    }
+  }
+
+  /**
+   * Plays every game in input, from its first byte to its current size.
+   *
+   * @return the number of games played
+   */
+  public long run(final FileChannel input, final WritableByteChannel output) throws IOException {
+    final ByteBuffer results = ByteBuffer.allocateDirect(OUTPUT_BUFFER_SIZE);
+    final int[] codes = new int[CardParser.CARDS_PER_GAME];
+    final long size = input.size();
+    long games = 0;
+    long lineNumber = 0;
+    long windowStart = 0;
+
+    while (windowStart < size) {
+      final boolean isLastWindow = size - windowStart <= windowSize;
+      final int length = (int) Math.min(size - windowStart, windowSize);
+      final MappedByteBuffer window = input.map(FileChannel.MapMode.READ_ONLY, windowStart, length);
+
+      int lineStart = 0;
+      for (int i = 0; i < length; i++) {
+        if (window.get(i) != '\n') continue;
+        final byte[] result = play(window, lineStart, i, codes, ++lineNumber);
+        if (result != null) {
+          write(result, results, output);
+          games++;
+        }
+        lineStart = i + 1;
+      }
+
+      if (isLastWindow) {
+        if (lineStart < length) {
+          final byte[] result = play(window, lineStart, length, codes, ++lineNumber);
+          if (result != null) {
+            write(result, results, output);
+            games++;
+          }
+        }
+        lineStart = length;
+      } else if (lineStart == 0) {
+        throw new RuntimeException(
+            String.format(
+                "Line [%s] is longer than the mapping window of [%s] bytes!",
+                lineNumber + 1, windowSize));
+      }
+      // a line cut by the end of the window is read again from the start of the next one
+      windowStart += lineStart;
+    }
+
+    flush(results, output);
+    return games;
+  }
+
+  /**
+   * Plays the line between from and to, shared with {@link ParallelBatchPipeline}.
+   *
+   * @return the result line of the game, or null for a blank line
+   */
+  static byte[] play(
+      final ByteBuffer window,
+      final int from,
+      final int to,
+      final int[] codes,
+      final long lineNumber) {
+    if (isBlank(window, from, to)) return null;
+
+    try {
+      CardParser.parseGame(window, from, to, codes);
+    } catch (CardParseException e) {
+      throw lineError(window, from, to, lineNumber);
+    }
+
+    final int black = HandEvaluator.evaluate(codes[0], codes[1], codes[2], codes[3], codes[4]);
+    final int white = HandEvaluator.evaluate(codes[5], codes[6], codes[7], codes[8], codes[9]);
+    if (black > white) return BLACK_WINS;
+    if (white > black) return WHITE_WINS;
+    return TIE;
+  }
+
+  /** Parses the line again on its own, so that the error reports positions within the line. */
+  private static CardParseException lineError(
+      final ByteBuffer window, final int from, final int to, final long lineNumber) {
+    final byte[] line = new byte[to - from];
+    for (int i = 0; i < line.length; i++) line[i] = window.get(from + i);
+    try {
+      CardParser.parseGame(line, 0, line.length, new int[CardParser.CARDS_PER_GAME]);
+      throw new IllegalStateException(String.format("Line [%s] parsed on its own", lineNumber));
+    } catch (CardParseException e) {
+      return new CardParseException(
+          String.format("Unable to play line [%s]! %s", lineNumber, e.getMessage()),
+          e.getPosition());
+    }
+  }
+
+  private static boolean isBlank(final ByteBuffer window, final int from, final int to) {
+    for (int i = from; i < to; i++) {
+      final byte c = window.get(i);
+      if (c != ' ' && c != '\t' && c != '\r') return false;
+    }
+    return true;
+  }
+
+  private static void write(
+      final byte[] result, final ByteBuffer results, final WritableByteChannel output)
+      throws IOException {
+    if (results.remaining() < result.length) flush(results, output);
+    results.put(result);
+  }
+
+  private static void flush(final ByteBuffer results, final WritableByteChannel output)
+      throws IOException {
+    results.flip();
+    while (results.hasRemaining()) output.write(results);
+    results.clear();
+  }
+}
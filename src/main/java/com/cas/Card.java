@@ -2,9 +2,14 @@ package com.cas;
 
 import lombok.Data;
 
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Map;
 
+/**
+ * A playing card. The 52 valid cards exist once each, get them through the {@link #of(int)}
+ * methods. The constructor is kept for unknown cards and callers that need their own instance.
+ */
 @Data
 public class Card implements Comparable<Card> {
 
@@ -27,47 +32,118 @@ public class Card implements Comparable<Card> {
           Map.entry("K", 13),
           Map.entry("A", 14));
 
+  private static final String VALUE_LETTERS = "23456789TJQKA";
+
+  private static final String[] FULL_NAMES = {
+    "TWO", "THREE", "FOUR", "FIVE", "SIX", "SEVEN", "EIGHT", "NINE", "TEN", "JACK", "QUEEN",
+    "KING", "ACE"
+  };
+
+  private static final byte[] VALUE_INDEX_BY_LETTER = new byte['z' + 1];
+  private static final byte[] SUIT_INDEX_BY_LETTER = new byte['z' + 1];
+
+  /** toString of each of the 52 cards, indexed by code */
+  private static final String[] DISPLAY_NAMES = new String[52];
+
+  /** The 52 canonical cards, indexed by code */
+  private static final Card[] DECK = new Card[52];
+
+  static {
+    Arrays.fill(VALUE_INDEX_BY_LETTER, (byte) -1);
+    Arrays.fill(SUIT_INDEX_BY_LETTER, (byte) -1);
+    for (int valueIndex = 0; valueIndex < VALUE_LETTERS.length(); valueIndex++) {
+      final char letter = VALUE_LETTERS.charAt(valueIndex);
+      VALUE_INDEX_BY_LETTER[letter] = (byte) valueIndex;
+      VALUE_INDEX_BY_LETTER[Character.toLowerCase(letter)] = (byte) valueIndex;
+    }
+    for (Suit suit : Suit.values()) {
+      final char letter = suit.getLetter().charAt(0);
+      SUIT_INDEX_BY_LETTER[letter] = (byte) suit.ordinal();
+      SUIT_INDEX_BY_LETTER[Character.toLowerCase(letter)] = (byte) suit.ordinal();
+
+      for (int valueIndex = 0; valueIndex < VALUE_LETTERS.length(); valueIndex++) {
+        final int code = valueIndex << 2 | suit.ordinal();
+        DISPLAY_NAMES[code] = String.format("[%s of %s]", FULL_NAMES[valueIndex], suit);
+        DECK[code] = new Card(String.valueOf(VALUE_LETTERS.charAt(valueIndex)), suit.getLetter());
+      }
+    }
+  }
+
   private final String value;
   private final int valueAsInt;
   private final Suit suit;
 
+  /**
+   * Compact form of the card used by {@link HandEvaluator}: (value - 2) * 4 + suit ordinal, so 0
+   * is the two of clubs and 51 the ace of spades. -1 if the value or suit is unknown.
+   */
+  private final int code;
+
   public Card(final String value, final String suit) {
     this.value = value.toUpperCase();
     this.valueAsInt = MAP_CARD_VALUES.getOrDefault(this.value, -1);
     this.suit = Suit.valueOfLetter(suit);
+    this.code =
+        this.valueAsInt < 0 || null == this.suit
+            ? -1
+            : (this.valueAsInt - 2) * 4 + this.suit.ordinal();
+  }
+
+  /**
+   * Canonical instance for a code between 0 and 51, see {@link #getCode()}. Never allocates, so
+   * cards obtained through the of methods can be compared with ==.
+   */
+  public static Card of(final int code) {
+    if (code < 0 || code >= DECK.length)
+      throw new RuntimeException(String.format("Unable to find card for code [%s]!", code));
+    return DECK[code];
+  }
+
+  public static Card of(final int valueIndex, final Suit suit) {
+    return of(valueIndex << 2 | suit.ordinal());
+  }
+
+  /** Canonical instance for a value letter and a suit letter, e.g. ('T', 'h') */
+  public static Card of(final char value, final char suit) {
+    final int code = codeOf(value, suit);
+    if (code < 0)
+      throw new RuntimeException(String.format("Unable to parse card [%s%s]!", value, suit));
+    return DECK[code];
+  }
+
+  /** Canonical instance for a two character card such as "TH" */
+  public static Card of(final CharSequence valueWithSuit) {
+    if (valueWithSuit.length() != 2)
+      throw new RuntimeException(String.format("Unable to parse card [%s]!", valueWithSuit));
+    final int code = codeOf(valueWithSuit.charAt(0), valueWithSuit.charAt(1));
+    if (code < 0)
+      throw new RuntimeException(String.format("Unable to parse card [%s]!", valueWithSuit));
+    return DECK[code];
+  }
+
+  /** @return the code of the card, or -1 if either letter is unknown. Letters may be lower case. */
+  public static int codeOf(final char value, final char suit) {
+    if (value >= VALUE_INDEX_BY_LETTER.length || suit >= SUIT_INDEX_BY_LETTER.length) return -1;
+    final int valueIndex = VALUE_INDEX_BY_LETTER[value];
+    final int suitIndex = SUIT_INDEX_BY_LETTER[suit];
+    if (valueIndex < 0 || suitIndex < 0) return -1;
+    return valueIndex << 2 | suitIndex;
+  }
+
+  /** @return the code of a two character card such as "TH", or -1 if it is not one */
+  public static int codeOf(final CharSequence valueWithSuit) {
+    if (valueWithSuit == null || valueWithSuit.length() != 2) return -1;
+    return codeOf(valueWithSuit.charAt(0), valueWithSuit.charAt(1));
+  }
+
+  /** The two characters the card is parsed from, e.g. "TH", as in the messages of parse errors. */
+  public String getText() {
+    return this.value + (null == this.suit ? "" : this.suit.getLetter());
   }
 
   public String getFullNameFromValue() {
-    switch (this.value) {
-      case "A":
-        return "ACE";
-      case "K":
-        return "KING";
-      case "Q":
-        return "QUEEN";
-      case "J":
-        return "JACK";
-      case "T":
-        return "TEN";
-      case "9":
-        return "NINE";
-      case "8":
-        return "EIGHT";
-      case "7":
-        return "SEVEN";
-      case "6":
-        return "SIX";
-      case "5":
-        return "FIVE";
-      case "4":
-        return "FOUR";
-      case "3":
-        return "THREE";
-      case "2":
-        return "TWO";
-      default:
-        return this.value;
-    }
+    if (this.valueAsInt < 2) return this.value;
+    return FULL_NAMES[this.valueAsInt - 2];
   }
 
   @Override
@@ -77,6 +153,7 @@ public class Card implements Comparable<Card> {
 
   @Override
   public String toString() {
+    if (this.code >= 0) return DISPLAY_NAMES[this.code];
     return String.format("[%s of %s]", this.getFullNameFromValue(), this.getSuit());
   }
 }
@@ -0,0 +1,16 @@
+package com.cas;
+
+import lombok.Getter;
+
+/** Thrown by {@link CardParser} when the input is not a valid card, hand or game. */
+@Getter
+public class CardParseException extends RuntimeException {
+
+  /** Index in the parsed input where the problem was found. */
+  private final int position;
+
+  public CardParseException(final String message, final int position) {
+    super(message);
+    this.position = position;
+  }
+}
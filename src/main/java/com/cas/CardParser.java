@@ -0,0 +1,350 @@
+package com.cas;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Parses cards straight out of text into card codes (see {@link Card#getCode()}), without
+ * splitting strings or creating any object on the way. Only a failure allocates, to build the
+ * {@link CardParseException}.
+ *
+ * <p>The text can be a {@link CharSequence}, a char[], an ASCII byte[] or an ASCII {@link
+ * ByteBuffer}, always read between a from (inclusive) and a to (exclusive) index. Buffers are read
+ * with absolute gets, their position and limit are left alone. Cards are two characters separated
+ * by whitespace, letters may be lower case. A hand may be preceded by a label ending with ':',
+ * which is skipped, so a whole kata line can be parsed in one go:
+ *
+ * <pre>Black: 2H 3D 5S 9C KD  White: 2C 3H 4S 8C AH</pre>
+ */
+public final class CardParser {
+
+  public static final int CARDS_PER_HAND = 5;
+  public static final int CARDS_PER_GAME = 2 * CARDS_PER_HAND;
+
+  private CardParser() {}
+
+  /** Parses the two characters at position into a card code. */
+  public static int parseCard(final CharSequence text, final int position) {
+    final int code = parseCard(text, position, text.length());
+    if (code < 0) throw unparsable(token(text, position, text.length()), position);
+    return code;
+  }
+
+  /**
+   * Parses an optionally labelled hand of five cards into codes[offset] to codes[offset + 4].
+   *
+   * @return a mask of the cards parsed, see {@link PackedCards}
+   */
+  public static long parseHand(
+      final CharSequence text, final int from, final int to, final int[] codes, final int offset) {
+    return parseCards(text, from, to, codes, offset, CARDS_PER_HAND);
+  }
+
+  public static long parseHand(
+      final char[] text, final int from, final int to, final int[] codes, final int offset) {
+    return parseCards(text, from, to, codes, offset, CARDS_PER_HAND);
+  }
+
+  public static long parseHand(
+      final byte[] text, final int from, final int to, final int[] codes, final int offset) {
+    return parseCards(text, from, to, codes, offset, CARDS_PER_HAND);
+  }
+
+  public static long parseHand(
+      final ByteBuffer text, final int from, final int to, final int[] codes, final int offset) {
+    return parseCards(text, from, to, codes, offset, CARDS_PER_HAND);
+  }
+
+  /**
+   * Parses a game line, Black's cards into codes[0] to codes[4] and White's into codes[5] to
+   * codes[9]. The same card may not appear twice in the line.
+   */
+  public static void parseGame(
+      final CharSequence line, final int from, final int to, final int[] codes) {
+    parseCards(line, from, to, codes, 0, CARDS_PER_GAME);
+  }
+
+  public static void parseGame(final CharSequence line, final int[] codes) {
+    parseGame(line, 0, line.length(), codes);
+  }
+
+  public static void parseGame(final char[] line, final int from, final int to, final int[] codes) {
+    parseCards(line, from, to, codes, 0, CARDS_PER_GAME);
+  }
+
+  public static void parseGame(final byte[] line, final int from, final int to, final int[] codes) {
+    parseCards(line, from, to, codes, 0, CARDS_PER_GAME);
+  }
+
+  public static void parseGame(
+      final ByteBuffer line, final int from, final int to, final int[] codes) {
+    parseCards(line, from, to, codes, 0, CARDS_PER_GAME);
+  }
+
+  // Each input type below has its own copy of the few methods that read characters, so every
+  // loop reads its text directly. They are identical but for how a character is read.
+
+  /**
+   * Parses numberOfCards cards, allowing a label in front of every group of five, and checks that
+   * nothing but whitespace follows.
+   */
+  private static long parseCards(
+      final CharSequence text,
+      final int from,
+      final int to,
+      final int[] codes,
+      final int offset,
+      final int numberOfCards) {
+    long cardsSeen = 0;
+    int position = from;
+
+    for (int i = 0; i < numberOfCards; i++) {
+      position = skipWhitespace(text, position, to);
+      if (i % CARDS_PER_HAND == 0)
+        position = skipWhitespace(text, skipLabel(text, position, to), to);
+      if (position >= to) throw missing(numberOfCards, i, position);
+
+      final int code = parseCard(text, position, to);
+      if (code < 0) throw unparsable(token(text, position, to), position);
+      final long cardMask = PackedCards.maskOf(code);
+      if ((cardsSeen & cardMask) != 0) throw repeated(token(text, position, to), position);
+
+      cardsSeen |= cardMask;
+      codes[offset + i] = code;
+      position += 2;
+    }
+
+    position = skipWhitespace(text, position, to);
+    if (position < to) throw unexpected(token(text, position, to), position, numberOfCards);
+    return cardsSeen;
+  }
+
+  /** @return the code of the two characters at position, or -1 if they are not a card */
+  private static int parseCard(final CharSequence text, final int position, final int to) {
+    final int end = position + 2;
+    if (end > to || end < to && !isWhitespace(text.charAt(end))) return -1;
+    return Card.codeOf(text.charAt(position), text.charAt(position + 1));
+  }
+
+  /** Skips a token ending with ':' if there is one at position. */
+  private static int skipLabel(final CharSequence text, final int position, final int to) {
+    int end = position;
+    while (end < to && !isWhitespace(text.charAt(end))) end++;
+    if (end > position && text.charAt(end - 1) == ':') return end;
+    return position;
+  }
+
+  private static int skipWhitespace(final CharSequence text, final int position, final int to) {
+    int i = position;
+    while (i < to && isWhitespace(text.charAt(i))) i++;
+    return i;
+  }
+
+  /** The whitespace delimited token at position, only used to build error messages. */
+  private static String token(final CharSequence text, final int position, final int to) {
+    final StringBuilder token = new StringBuilder();
+    for (int i = position; i < to && !isWhitespace(text.charAt(i)); i++)
+      token.append(text.charAt(i));
+    return token.toString();
+  }
+
+  private static long parseCards(
+      final char[] text,
+      final int from,
+      final int to,
+      final int[] codes,
+      final int offset,
+      final int numberOfCards) {
+    long cardsSeen = 0;
+    int position = from;
+
+    for (int i = 0; i < numberOfCards; i++) {
+      position = skipWhitespace(text, position, to);
+      if (i % CARDS_PER_HAND == 0)
+        position = skipWhitespace(text, skipLabel(text, position, to), to);
+      if (position >= to) throw missing(numberOfCards, i, position);
+
+      final int code = parseCard(text, position, to);
+      if (code < 0) throw unparsable(token(text, position, to), position);
+      final long cardMask = PackedCards.maskOf(code);
+      if ((cardsSeen & cardMask) != 0) throw repeated(token(text, position, to), position);
+
+      cardsSeen |= cardMask;
+      codes[offset + i] = code;
+      position += 2;
+    }
+
+    position = skipWhitespace(text, position, to);
+    if (position < to) throw unexpected(token(text, position, to), position, numberOfCards);
+    return cardsSeen;
+  }
+
+  private static int parseCard(final char[] text, final int position, final int to) {
+    final int end = position + 2;
+    if (end > to || end < to && !isWhitespace(text[end])) return -1;
+    return Card.codeOf(text[position], text[position + 1]);
+  }
+
+  private static int skipLabel(final char[] text, final int position, final int to) {
+    int end = position;
+    while (end < to && !isWhitespace(text[end])) end++;
+    if (end > position && text[end - 1] == ':') return end;
+    return position;
+  }
+
+  private static int skipWhitespace(final char[] text, final int position, final int to) {
+    int i = position;
+    while (i < to && isWhitespace(text[i])) i++;
+    return i;
+  }
+
+  private static String token(final char[] text, final int position, final int to) {
+    final StringBuilder token = new StringBuilder();
+    for (int i = position; i < to && !isWhitespace(text[i]); i++) token.append(text[i]);
+    return token.toString();
+  }
+
+  private static long parseCards(
+      final byte[] text,
+      final int from,
+      final int to,
+      final int[] codes,
+      final int offset,
+      final int numberOfCards) {
+    long cardsSeen = 0;
+    int position = from;
+
+    for (int i = 0; i < numberOfCards; i++) {
+      position = skipWhitespace(text, position, to);
+      if (i % CARDS_PER_HAND == 0)
+        position = skipWhitespace(text, skipLabel(text, position, to), to);
+      if (position >= to) throw missing(numberOfCards, i, position);
+
+      final int code = parseCard(text, position, to);
+      if (code < 0) throw unparsable(token(text, position, to), position);
+      final long cardMask = PackedCards.maskOf(code);
+      if ((cardsSeen & cardMask) != 0) throw repeated(token(text, position, to), position);
+
+      cardsSeen |= cardMask;
+      codes[offset + i] = code;
+      position += 2;
+    }
+
+    position = skipWhitespace(text, position, to);
+    if (position < to) throw unexpected(token(text, position, to), position, numberOfCards);
+    return cardsSeen;
+  }
+
+  private static int parseCard(final byte[] text, final int position, final int to) {
+    final int end = position + 2;
+    if (end > to || end < to && !isWhitespace(text[end] & 0xFF)) return -1;
+    return Card.codeOf((char) (text[position] & 0xFF), (char) (text[position + 1] & 0xFF));
+  }
+
+  private static int skipLabel(final byte[] text, final int position, final int to) {
+    int end = position;
+    while (end < to && !isWhitespace(text[end] & 0xFF)) end++;
+    if (end > position && text[end - 1] == ':') return end;
+    return position;
+  }
+
+  private static int skipWhitespace(final byte[] text, final int position, final int to) {
+    int i = position;
+    while (i < to && isWhitespace(text[i] & 0xFF)) i++;
+    return i;
+  }
+
+  private static String token(final byte[] text, final int position, final int to) {
+    final StringBuilder token = new StringBuilder();
+    for (int i = position; i < to && !isWhitespace(text[i] & 0xFF); i++)
+      token.append((char) (text[i] & 0xFF));
+    return token.toString();
+  }
+
+  private static long parseCards(
+      final ByteBuffer text,
+      final int from,
+      final int to,
+      final int[] codes,
+      final int offset,
+      final int numberOfCards) {
+    long cardsSeen = 0;
+    int position = from;
+
+    for (int i = 0; i < numberOfCards; i++) {
+      position = skipWhitespace(text, position, to);
+      if (i % CARDS_PER_HAND == 0)
+        position = skipWhitespace(text, skipLabel(text, position, to), to);
+      if (position >= to) throw missing(numberOfCards, i, position);
+
+      final int code = parseCard(text, position, to);
+      if (code < 0) throw unparsable(token(text, position, to), position);
+      final long cardMask = PackedCards.maskOf(code);
+      if ((cardsSeen & cardMask) != 0) throw repeated(token(text, position, to), position);
+
+      cardsSeen |= cardMask;
+      codes[offset + i] = code;
+      position += 2;
+    }
+
+    position = skipWhitespace(text, position, to);
+    if (position < to) throw unexpected(token(text, position, to), position, numberOfCards);
+    return cardsSeen;
+  }
+
+  private static int parseCard(final ByteBuffer text, final int position, final int to) {
+    final int end = position + 2;
+    if (end > to || end < to && !isWhitespace(text.get(end) & 0xFF)) return -1;
+    return Card.codeOf((char) (text.get(position) & 0xFF), (char) (text.get(position + 1) & 0xFF));
+  }
+
+  private static int skipLabel(final ByteBuffer text, final int position, final int to) {
+    int end = position;
+    while (end < to && !isWhitespace(text.get(end) & 0xFF)) end++;
+    if (end > position && text.get(end - 1) == ':') return end;
+    return position;
+  }
+
+  private static int skipWhitespace(final ByteBuffer text, final int position, final int to) {
+    int i = position;
+    while (i < to && isWhitespace(text.get(i) & 0xFF)) i++;
+    return i;
+  }
+
+  private static String token(final ByteBuffer text, final int position, final int to) {
+    final StringBuilder token = new StringBuilder();
+    for (int i = position; i < to && !isWhitespace(text.get(i) & 0xFF); i++)
+      token.append((char) (text.get(i) & 0xFF));
+    return token.toString();
+  }
+
+  private static boolean isWhitespace(final int c) {
+    return c == ' ' || c == '\t' || c == '\r' || c == '\n';
+  }
+
+  private static CardParseException missing(
+      final int numberOfCards, final int found, final int position) {
+    return new CardParseException(
+        String.format(
+            "Expected [%s] cards but found [%s] at position [%s]!", numberOfCards, found, position),
+        position);
+  }
+
+  private static CardParseException unparsable(final String token, final int position) {
+    return new CardParseException(
+        String.format("Unable to parse card [%s] at position [%s]!", token, position), position);
+  }
+
+  private static CardParseException repeated(final String token, final int position) {
+    return new CardParseException(
+        String.format("Card [%s] at position [%s] exists more than once!", token, position),
+        position);
+  }
+
+  private static CardParseException unexpected(
+      final String token, final int position, final int numberOfCards) {
+    return new CardParseException(
+        String.format(
+            "Unexpected [%s] at position [%s] after [%s] cards!", token, position, numberOfCards),
+        position);
+  }
+}
@@ -0,0 +1,52 @@
+package com.cas;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Adds up counts over long walks on a fork/join pool. Each walk of count indexes is cut into
+ * chunks, every chunk is tallied by a task of its own into a long[] of its own, so tasks share
+ * nothing, and the tallies are added up once every chunk is done.
+ */
+final class ChunkedTally {
+
+  /** Tallies the indexes from from (inclusive) to to (exclusive) on the calling thread. */
+  @FunctionalInterface
+  interface Chunk {
+    long[] tally(int from, int to);
+  }
+
+  private final ForkJoinPool pool;
+  private final int chunkSize;
+  private final int tallySize;
+  private final List<CompletableFuture<long[]>> chunks = new ArrayList<>();
+
+  /** @param tallySize length of the long[] every chunk returns */
+  ChunkedTally(final ForkJoinPool pool, final int chunkSize, final int tallySize) {
+    this.pool = pool;
+    this.chunkSize = chunkSize;
+    this.tallySize = tallySize;
+  }
+
+  /** Starts tallying indexes 0 to count, chunk by chunk, on the pool. */
+  ChunkedTally submit(final int count, final Chunk chunk) {
+    for (int from = 0; from < count; from += chunkSize) {
+      final int start = from;
+      final int end = Math.min(count, from + chunkSize);
+      chunks.add(CompletableFuture.supplyAsync(() -> chunk.tally(start, end), pool));
+    }
+    return this;
+  }
+
+  /** Waits for every chunk submitted so far and adds their tallies up. */
+  long[] join() {
+    final long[] tally = new long[tallySize];
+    for (CompletableFuture<long[]> chunk : chunks) {
+      final long[] chunkTally = chunk.join();
+      for (int i = 0; i < tally.length; i++) tally[i] += chunkTally[i];
+    }
+    return tally;
+  }
+}
@@ -0,0 +1,197 @@
+package com.cas;
+
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Works out, for five card draw, what every one of the 32 ways of discarding from a hand is worth:
+ * the strength the hand ends with on average over every replacement draw and, against a known
+ * opponent hand, how often it wins.
+ *
+ * <p>Discarding k cards keeps the other 5 - k, and every draw of k cards from the rest of the
+ * deck completes each of the C(5, k) discards of that size. So draws are walked once per number
+ * of cards drawn, in colex order of their positions in the remaining deck, and each draw is
+ * evaluated against every kept set of that size: C(52, 5) = 2,598,960 evaluations for all 32
+ * discards, or C(47, 5) = 1,533,939 with an opponent hand out of the deck. Draws are spread in
+ * chunks over a fork/join pool and go straight to {@link HandEvaluator} as packed hands.
+ */
+public class DrawOptimizer {
+
+  /** What one discard is worth. */
+  @Value
+  public static class Option {
+    /** The cards thrown away, packed by {@link PackedCards}. 0 to stand pat. */
+    long discards;
+
+    long kept;
+
+    /** Replacement draws the discard can end with, C(cards left in the deck, discards). */
+    long draws;
+
+    /** Mean strength over every draw, see {@link HandEvaluator}. */
+    double expectedStrength;
+
+    /** Over every draw, against the opponent hand. null without one. */
+    OpponentAnalyzer.Outcomes outcomes;
+
+    public int getNumberOfDiscards() {
+      return Long.bitCount(discards);
+    }
+
+    /** Share of the pot won on average: wins plus half the ties, NaN without an opponent hand. */
+    public double getEquity() {
+      if (outcomes == null) return Double.NaN;
+      return (outcomes.getWins() + outcomes.getTies() / 2.0) / outcomes.getOpponents();
+    }
+  }
+
+  /** Every subset of the five cards of the hand. */
+  public static final int NUMBER_OF_DISCARDS = 1 << CardParser.CARDS_PER_HAND;
+
+  /** Draws walked by a single task. */
+  private static final int CHUNK_SIZE = 1 << 15;
+
+  /** Per discard: sum of strengths, wins and ties. */
+  private static final int STRENGTH = 0;
+
+  private static final int WINS = 1;
+  private static final int TIES = 2;
+  private static final int TALLY_SIZE = 3;
+
+  /** Highest expected strength first, fewest discards first on a tie. */
+  private static final Comparator<Option> BY_EXPECTED_STRENGTH =
+      Comparator.comparingDouble(Option::getExpectedStrength)
+          .reversed()
+          .thenComparingInt(Option::getNumberOfDiscards);
+
+  private static final Comparator<Option> BY_EQUITY =
+      Comparator.comparingDouble(Option::getEquity).reversed().thenComparing(BY_EXPECTED_STRENGTH);
+
+  private final ForkJoinPool pool;
+
+  public DrawOptimizer() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  public DrawOptimizer(final ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  public List<Option> optimize(final Hand hand) {
+    return optimize(PackedCards.toMask(hand));
+  }
+
+  public List<Option> optimize(final Hand hand, final Hand opponent) {
+    return optimize(PackedCards.toMask(hand), PackedCards.toMask(opponent));
+  }
+
+  /**
+   * Every discard of a hand of five cards packed by {@link PackedCards}, by decreasing expected
+   * strength.
+   */
+  public List<Option> optimize(final long hand) {
+    return optimize(hand, 0);
+  }
+
+  /**
+   * Every discard of a hand against the final hand of an opponent, both packed by {@link
+   * PackedCards}, by decreasing equity then decreasing expected strength. The opponent's cards are
+   * out of the deck. An opponent of 0 means none, as in {@link #optimize(long)}.
+   */
+  public List<Option> optimize(final long hand, final long opponent) {
+    HandEvaluator.strengthOf(hand);
+    final int opponentStrength = opponent == 0 ? 0 : HandEvaluator.strengthOf(opponent);
+    Showdown.validateNotSeen(hand, opponent);
+
+    final int[] deck = new int[PackedCards.NUMBER_OF_CARDS - Long.bitCount(hand | opponent)];
+    int size = 0;
+    for (int code = 0; code < PackedCards.NUMBER_OF_CARDS; code++)
+      if (((hand | opponent) & PackedCards.maskOf(code)) == 0) deck[size++] = code;
+
+    final long[] handCards = new long[CardParser.CARDS_PER_HAND];
+    long remaining = hand;
+    for (int i = 0; i < handCards.length; i++) {
+      handCards[i] = Long.lowestOneBit(remaining);
+      remaining ^= handCards[i];
+    }
+    // discards are numbered by the bits of the positions of the cards thrown away
+    final long[] kept = new long[NUMBER_OF_DISCARDS];
+    for (int discard = 0; discard < NUMBER_OF_DISCARDS; discard++)
+      for (int i = 0; i < handCards.length; i++)
+        if ((discard & 1 << i) == 0) kept[discard] |= handCards[i];
+
+    final ChunkedTally chunks = new ChunkedTally(pool, CHUNK_SIZE, NUMBER_OF_DISCARDS * TALLY_SIZE);
+    for (int cards = 0; cards <= CardParser.CARDS_PER_HAND; cards++) {
+      final int drawn = cards;
+      final int[] discards =
+          IntStream.range(0, NUMBER_OF_DISCARDS)
+              .filter(discard -> Integer.bitCount(discard) == drawn)
+              .toArray();
+      chunks.submit(
+          HandEnumerator.binomial(deck.length, drawn),
+          (from, to) -> tally(deck, drawn, discards, kept, opponentStrength, from, to));
+    }
+    final long[] tally = chunks.join();
+
+    final List<Option> options = new ArrayList<>(NUMBER_OF_DISCARDS);
+    for (int discard = 0; discard < NUMBER_OF_DISCARDS; discard++) {
+      final long draws = HandEnumerator.binomial(deck.length, Integer.bitCount(discard));
+      final int offset = discard * TALLY_SIZE;
+      options.add(
+          new Option(
+              hand & ~kept[discard],
+              kept[discard],
+              draws,
+              (double) tally[offset + STRENGTH] / draws,
+              opponent == 0
+                  ? null
+                  : new OpponentAnalyzer.Outcomes(
+                      tally[offset + WINS],
+                      tally[offset + TIES],
+                      draws - tally[offset + WINS] - tally[offset + TIES])));
+    }
+    options.sort(opponent == 0 ? BY_EXPECTED_STRENGTH : BY_EQUITY);
+    return Collections.unmodifiableList(options);
+  }
+
+  /**
+   * Walks the draws of drawn cards from index from to to, each completing every discard of that
+   * size.
+   *
+   * @return sum of strengths, wins and ties for each discard, by discard
+   */
+  private static long[] tally(
+      final int[] deck,
+      final int drawn,
+      final int[] discards,
+      final long[] kept,
+      final int opponentStrength,
+      final int from,
+      final int to) {
+    final int[] positions = new int[drawn + 1];
+    HandEnumerator.unrank(from, drawn, deck.length, positions);
+
+    final long[] tally = new long[NUMBER_OF_DISCARDS * TALLY_SIZE];
+    for (int draw = from; ; ) {
+      long cards = 0;
+      for (int i = 0; i < drawn; i++) cards |= PackedCards.maskOf(deck[positions[i]]);
+
+      for (int discard : discards) {
+        final int strength = HandEvaluator.evaluate(kept[discard] | cards);
+        final int offset = discard * TALLY_SIZE;
+        tally[offset + STRENGTH] += strength;
+        if (strength > opponentStrength) tally[offset + WINS]++;
+        else if (strength == opponentStrength) tally[offset + TIES]++;
+      }
+
+      if (++draw == to) return tally;
+      HandEnumerator.next(positions);
+    }
+  }
+}
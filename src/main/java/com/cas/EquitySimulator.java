@@ -0,0 +1,227 @@
+package com.cas;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Estimates how often Black beats White when some or all of their cards are unknown, by dealing the
+ * unknown cards at random from the rest of the deck.
+ *
+ * <p>Trials run in batches spread over a fork/join pool. Every batch draws from its own {@link
+ * SplittableRandom}, split from the seed in batch order, and batches are tallied in that same
+ * order, so a given seed gives the same result whatever the number of threads. Deals are a partial
+ * Fisher-Yates shuffle of an int deck and hands go straight to {@link HandEvaluator}.
+ *
+ * <p>The run stops after {@link Config#getMaxTrials()} trials, or earlier once the confidence
+ * interval of Black's equity is no wider than {@link Config#getTargetHalfWidth()} either side.
+ */
+public class EquitySimulator {
+
+  @Value
+  @Builder
+  public static class Config {
+    @Builder.Default long seed = 0;
+
+    @Builder.Default long maxTrials = 10_000_000;
+
+    @Builder.Default int batchSize = 1 << 16;
+
+    /** Stop once the half width of the interval is at most this, 0 to always run maxTrials. */
+    @Builder.Default double targetHalfWidth = 0;
+
+    /** Standard score of the confidence level, 1.96 for 95%. */
+    @Builder.Default double z = 1.96;
+  }
+
+  /** Tally of a run, from Black's point of view. */
+  @Value
+  public static class Equity {
+    long trials;
+    long blackWins;
+    long whiteWins;
+    long ties;
+
+    /** Half width of the confidence interval around {@link #getBlackEquity()}. */
+    double halfWidth;
+
+    public double getBlackWinProbability() {
+      return (double) blackWins / trials;
+    }
+
+    public double getWhiteWinProbability() {
+      return (double) whiteWins / trials;
+    }
+
+    public double getTieProbability() {
+      return (double) ties / trials;
+    }
+
+    /** Share of the pot Black wins on average: wins plus half the ties. */
+    public double getBlackEquity() {
+      return (blackWins + ties / 2.0) / trials;
+    }
+  }
+
+  private final Config config;
+  private final ForkJoinPool pool;
+
+  public EquitySimulator(final Config config) {
+    this(config, ForkJoinPool.commonPool());
+  }
+
+  public EquitySimulator(final Config config, final ForkJoinPool pool) {
+    if (config.getMaxTrials() <= 0 || config.getBatchSize() <= 0)
+      throw new RuntimeException(
+          String.format(
+              "Invalid number of trials [%s] or batch size [%s]!",
+              config.getMaxTrials(), config.getBatchSize()));
+    this.config = config;
+    this.pool = pool;
+  }
+
+  public Equity simulate(final Collection<Card> blackCards, final Collection<Card> whiteCards) {
+    return simulate(codesOf(blackCards), codesOf(whiteCards));
+  }
+
+  /** Simulates with the known card codes of each player, up to five each. */
+  public Equity simulate(final int[] blackCodes, final int[] whiteCodes) {
+    final Deal deal = new Deal(blackCodes, whiteCodes);
+    final SplittableRandom seeds = new SplittableRandom(config.getSeed());
+    final int batchesPerRound = 2 * pool.getParallelism();
+
+    final long[] tally = new long[3];
+    long trials = 0;
+    double halfWidth = Double.NaN;
+
+    while (trials < config.getMaxTrials()) {
+      final List<CompletableFuture<long[]>> round = new ArrayList<>(batchesPerRound);
+      long scheduled = trials;
+      for (int i = 0; i < batchesPerRound && scheduled < config.getMaxTrials(); i++) {
+        final int batchTrials =
+            (int) Math.min(config.getBatchSize(), config.getMaxTrials() - scheduled);
+        final SplittableRandom random = seeds.split();
+        round.add(CompletableFuture.supplyAsync(() -> deal.play(random, batchTrials), pool));
+        scheduled += batchTrials;
+      }
+
+      for (CompletableFuture<long[]> batch : round) {
+        final long[] batchTally = batch.join();
+        for (int outcome = 0; outcome < tally.length; outcome++)
+          tally[outcome] += batchTally[outcome];
+        trials += batchTally[0] + batchTally[1] + batchTally[2];
+
+        halfWidth = halfWidth(tally, trials);
+        if (config.getTargetHalfWidth() > 0 && halfWidth <= config.getTargetHalfWidth())
+          return new Equity(trials, tally[0], tally[1], tally[2], halfWidth);
+      }
+    }
+
+    return new Equity(trials, tally[0], tally[1], tally[2], halfWidth);
+  }
+
+  /**
+   * Each trial scores 1, 1/2 or 0 for Black. The half width is z standard errors of the mean
+   * score.
+   */
+  private double halfWidth(final long[] tally, final long trials) {
+    final double mean = (tally[0] + tally[2] / 2.0) / trials;
+    final double meanOfSquares = (tally[0] + tally[2] / 4.0) / trials;
+    final double variance = Math.max(0, meanOfSquares - mean * mean);
+    return config.getZ() * Math.sqrt(variance / trials);
+  }
+
+  /**
+   * Checks the known cards of a matchup, shared with {@link ExactEquityCalculator}.
+   *
+   * @return the mask of every known card, see {@link PackedCards}
+   */
+  static long knownCards(final int[] black, final int[] white) {
+    if (black.length > CardParser.CARDS_PER_HAND || white.length > CardParser.CARDS_PER_HAND)
+      throw new RuntimeException(
+          String.format(
+              "A player cannot hold more than 5 cards! Black [%s] White [%s]",
+              black.length, white.length));
+
+    long known = 0;
+    for (int[] codes : new int[][] {black, white})
+      for (int code : codes) {
+        if (code < 0 || code >= PackedCards.NUMBER_OF_CARDS)
+          throw new RuntimeException(String.format("Unable to find card for code [%s]!", code));
+        if ((known & PackedCards.maskOf(code)) != 0)
+          throw new RuntimeException(
+              String.format(
+                  "Card [%s] exists more than once in the matchup!", Card.of(code).getText()));
+        known |= PackedCards.maskOf(code);
+      }
+    return known;
+  }
+
+  static int[] codesOf(final Collection<Card> cards) {
+    final int[] codes = new int[cards.size()];
+    int i = 0;
+    for (Card card : cards) codes[i++] = card.getCode();
+    return codes;
+  }
+
+  /** The known cards and the rest of the deck, shared read only by all batches. */
+  private static final class Deal {
+    private final int[] blackCodes = new int[CardParser.CARDS_PER_HAND];
+    private final int[] whiteCodes = new int[CardParser.CARDS_PER_HAND];
+    private final int knownBlack;
+    private final int knownWhite;
+    private final int[] deck;
+
+    Deal(final int[] black, final int[] white) {
+      final long known = knownCards(black, white);
+
+      System.arraycopy(black, 0, blackCodes, 0, black.length);
+      System.arraycopy(white, 0, whiteCodes, 0, white.length);
+      knownBlack = black.length;
+      knownWhite = white.length;
+
+      deck = new int[PackedCards.NUMBER_OF_CARDS - black.length - white.length];
+      int size = 0;
+      for (int code = 0; code < PackedCards.NUMBER_OF_CARDS; code++)
+        if ((known & PackedCards.maskOf(code)) == 0) deck[size++] = code;
+    }
+
+    /** @return black wins, white wins and ties over the trials */
+    long[] play(final SplittableRandom random, final int trials) {
+      final int[] cards = deck.clone();
+      final int[] black = blackCodes.clone();
+      final int[] white = whiteCodes.clone();
+      final int toBlack = CardParser.CARDS_PER_HAND - knownBlack;
+      final int toDeal = toBlack + CardParser.CARDS_PER_HAND - knownWhite;
+      long blackWins = 0;
+      long whiteWins = 0;
+
+      for (int trial = 0; trial < trials; trial++) {
+        // partial Fisher-Yates: the first toDeal cards become a uniform random draw
+        for (int i = 0; i < toDeal; i++) {
+          final int j = i + random.nextInt(cards.length - i);
+          final int card = cards[j];
+          cards[j] = cards[i];
+          cards[i] = card;
+        }
+        for (int i = 0; i < toBlack; i++) black[knownBlack + i] = cards[i];
+        for (int i = toBlack; i < toDeal; i++) white[knownWhite + i - toBlack] = cards[i];
+
+        final int blackStrength =
+            HandEvaluator.evaluate(black[0], black[1], black[2], black[3], black[4]);
+        final int whiteStrength =
+            HandEvaluator.evaluate(white[0], white[1], white[2], white[3], white[4]);
+        if (blackStrength > whiteStrength) blackWins++;
+        else if (whiteStrength > blackStrength) whiteWins++;
+      }
+
+      return new long[] {blackWins, whiteWins, trials - blackWins - whiteWins};
+    }
+  }
+}
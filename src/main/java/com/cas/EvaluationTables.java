@@ -0,0 +1,208 @@
+package com.cas;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * The lookup tables of {@link HandEvaluator} and {@link SevenCardEvaluator}, saved to a file once
+ * so that short lived processes do not rebuild them at every start.
+ *
+ * <p>The tables are written by {@link #main(String[])}:
+ *
+ * <pre>java -cp target/classes com.cas.EvaluationTables target/evaluation-tables.bin</pre>
+ *
+ * and picked up by the evaluators when the {@value #PATH_PROPERTY} system property names the file.
+ * The file is mapped read only, so loading is almost free and every process on the host shares the
+ * same pages. The large hash tables of {@link SevenCardEvaluator} are read straight from the
+ * mapping, the small five card tables are copied to the heap. Without the property the evaluators
+ * build their tables as before. With it, a missing file fails like a corrupt one rather than
+ * silently falling back to building them.
+ *
+ * <p>The file is little endian: a 24 byte header (magic, format version, payload length, CRC32 of
+ * the payload) followed by every {@link Section} in order, each starting on an 8 byte boundary. A
+ * file with a bad header or checksum is rejected; regenerate it after a change of {@link #VERSION}.
+ */
+public final class EvaluationTables {
+
+  public static final String PATH_PROPERTY = "poker.tables";
+
+  /** "PKTB". */
+  public static final int MAGIC = 0x50_4B_54_42;
+
+  /** Bumped whenever a section or the way a table is built changes. */
+  public static final int VERSION = 1;
+
+  static final int HEADER_SIZE = 24;
+
+  private static final int ALIGNMENT = Long.BYTES;
+
+  /** The tables in file order, with the size of an element and the number of elements. */
+  enum Section {
+    FIVE_CARD_FLUSHES(Short.BYTES, 1 << 13),
+    FIVE_CARD_UNIQUE_FIVES(Short.BYTES, 1 << 13),
+    FIVE_CARD_PAIRED_PRODUCTS(Integer.BYTES, 1 << 14),
+    FIVE_CARD_PAIRED_STRENGTHS(Short.BYTES, 1 << 14),
+    FIVE_CARD_RANKS(Byte.BYTES, HandEvaluator.NUMBER_OF_EQUIVALENCE_CLASSES + 1),
+    SEVEN_CARD_FLUSHES(Short.BYTES, 1 << 13),
+    SEVEN_CARD_COUNTS_KEYS(Integer.BYTES, 1 << 18),
+    SEVEN_CARD_COUNTS_STRENGTHS(Short.BYTES, 1 << 18);
+
+    final int elementSize;
+    final int length;
+
+    Section(final int elementSize, final int length) {
+      this.elementSize = elementSize;
+      this.length = length;
+    }
+
+    int size() {
+      return elementSize * length;
+    }
+
+    int offset() {
+      int offset = HEADER_SIZE;
+      for (Section section : values()) {
+        if (section == this) return offset;
+        offset += align(section.size());
+      }
+      throw new IllegalStateException(String.format("Unknown section [%s]", this));
+    }
+  }
+
+  private static final int FILE_SIZE =
+      Section.values()[Section.values().length - 1].offset()
+          + align(Section.values()[Section.values().length - 1].size());
+
+  private final ByteBuffer file;
+
+  private EvaluationTables(final ByteBuffer file) {
+    this.file = file;
+  }
+
+  /** Writes freshly built tables to the file given as the only argument. */
+  public static void main(final String[] args) {
+    if (args.length != 1)
+      throw new RuntimeException(
+          "Usage: java -cp <classpath> com.cas.EvaluationTables <tables file>");
+    // the tables written must not come from the file being replaced
+    System.clearProperty(PATH_PROPERTY);
+    write(Path.of(args[0]));
+  }
+
+  /** Writes the tables of both evaluators to path, replacing it atomically. */
+  public static void write(final Path path) {
+    final EvaluationTables tables =
+        new EvaluationTables(ByteBuffer.allocate(FILE_SIZE).order(ByteOrder.LITTLE_ENDIAN));
+    HandEvaluator.saveTables(tables);
+    SevenCardEvaluator.saveTables(tables);
+
+    final ByteBuffer file = tables.file;
+    file.putInt(0, MAGIC);
+    file.putInt(4, VERSION);
+    file.putLong(8, FILE_SIZE - HEADER_SIZE);
+    file.putInt(16, checksum(file));
+
+    try {
+      final Path absolute = path.toAbsolutePath();
+      final Path temporary = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+      try (FileChannel channel =
+          FileChannel.open(
+              temporary,
+              StandardOpenOption.CREATE,
+              StandardOpenOption.TRUNCATE_EXISTING,
+              StandardOpenOption.WRITE)) {
+        while (file.hasRemaining()) channel.write(file);
+        channel.force(true);
+      }
+      Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      throw new UncheckedIOException(
+          String.format("Unable to write evaluation tables to [%s]!", path), e);
+    }
+  }
+
+  /** Maps the file read only and checks its header and checksum. */
+  public static EvaluationTables load(final Path path) {
+    final ByteBuffer file;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      if (channel.size() != FILE_SIZE)
+        throw new RuntimeException(
+            String.format(
+                "Evaluation tables [%s] hold [%s] bytes instead of [%s]!",
+                path, channel.size(), FILE_SIZE));
+      file = channel.map(FileChannel.MapMode.READ_ONLY, 0, FILE_SIZE);
+    } catch (IOException e) {
+      throw new UncheckedIOException(
+          String.format("Unable to read evaluation tables from [%s]!", path), e);
+    }
+    file.order(ByteOrder.LITTLE_ENDIAN);
+
+    if (file.getInt(0) != MAGIC || file.getInt(4) != VERSION)
+      throw new RuntimeException(
+          String.format(
+              "Evaluation tables [%s] have version [%s] instead of [%s]!",
+              path, file.getInt(0) == MAGIC ? file.getInt(4) : "unknown", VERSION));
+    if (file.getLong(8) != FILE_SIZE - HEADER_SIZE || file.getInt(16) != checksum(file))
+      throw new RuntimeException(
+          String.format("Evaluation tables [%s] are corrupt, checksum mismatch!", path));
+    return new EvaluationTables(file);
+  }
+
+  /**
+   * The tables named by {@value #PATH_PROPERTY}, loaded once, or null to build them instead when
+   * the property is not set.
+   */
+  static EvaluationTables configured() {
+    return Configured.TABLES;
+  }
+
+  ShortBuffer shorts(final Section section) {
+    return slice(section).asShortBuffer();
+  }
+
+  IntBuffer ints(final Section section) {
+    return slice(section).asIntBuffer();
+  }
+
+  ByteBuffer bytes(final Section section) {
+    return slice(section);
+  }
+
+  private ByteBuffer slice(final Section section) {
+    final ByteBuffer slice = file.duplicate();
+    slice.position(section.offset()).limit(section.offset() + section.size());
+    return slice.slice().order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  private static int checksum(final ByteBuffer file) {
+    final ByteBuffer payload = file.duplicate();
+    payload.position(HEADER_SIZE).limit(FILE_SIZE);
+    final CRC32 crc = new CRC32();
+    crc.update(payload);
+    return (int) crc.getValue();
+  }
+
+  private static int align(final int size) {
+    return (size + ALIGNMENT - 1) & -ALIGNMENT;
+  }
+
+  /** Holder, so that both evaluators share one mapping and only look for it when first used. */
+  private static final class Configured {
+    static final EvaluationTables TABLES = loadConfigured();
+
+    private static EvaluationTables loadConfigured() {
+      final String path = System.getProperty(PATH_PROPERTY);
+      return path == null ? null : load(Path.of(path));
+    }
+  }
+}
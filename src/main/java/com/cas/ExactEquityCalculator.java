@@ -0,0 +1,245 @@
+package com.cas;
+
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Counts exactly how many ways of completing both hands from the rest of the deck end in a win for
+ * Black, a win for White or a tie. Hands are compared by strength, which decides the winner of
+ * {@link PokerGame#evaluate(Hand, Hand)}.
+ *
+ * <p>Pairing every completion of Black with every completion of White is far too slow, e.g. 37.6
+ * billion deals with one card known each. Instead:
+ *
+ * <ol>
+ *   <li>the strength of every completion of each side is computed once, in parallel
+ *   <li>completions of both sides are bucketed by strength and swept from the weakest up
+ *   <li>when a Black completion is reached, every White completion seen so far is weaker. The ones
+ *       that share no card with it are counted by inclusion-exclusion, from running counts of how
+ *       many White completions hold each subset of cards
+ * </ol>
+ */
+public class ExactEquityCalculator {
+
+  /** Number of deals of each outcome, from Black's point of view. */
+  @Value
+  public static class Counts {
+    long blackWins;
+    long whiteWins;
+    long ties;
+
+    public long getDeals() {
+      return blackWins + whiteWins + ties;
+    }
+
+    public double getBlackWinProbability() {
+      return (double) blackWins / getDeals();
+    }
+
+    public double getWhiteWinProbability() {
+      return (double) whiteWins / getDeals();
+    }
+
+    public double getTieProbability() {
+      return (double) ties / getDeals();
+    }
+
+    /** Share of the pot Black wins on average: wins plus half the ties. */
+    public double getBlackEquity() {
+      return (blackWins + ties / 2.0) / getDeals();
+    }
+  }
+
+  /** Completions whose strength is computed by a single task. */
+  private static final int CHUNK_SIZE = 1 << 14;
+
+  private static final int BITS_PER_CODE = 6;
+
+  private final ForkJoinPool pool;
+
+  public ExactEquityCalculator() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  public ExactEquityCalculator(final ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  public Counts calculate(final Collection<Card> blackCards, final Collection<Card> whiteCards) {
+    return calculate(EquitySimulator.codesOf(blackCards), EquitySimulator.codesOf(whiteCards));
+  }
+
+  /** Counts the outcomes given the known card codes of each player, up to five each. */
+  public Counts calculate(final int[] blackCodes, final int[] whiteCodes) {
+    final long known = EquitySimulator.knownCards(blackCodes, whiteCodes);
+    final int[] deck = new int[PackedCards.NUMBER_OF_CARDS - Long.bitCount(known)];
+    int size = 0;
+    for (int code = 0; code < PackedCards.NUMBER_OF_CARDS; code++)
+      if ((known & PackedCards.maskOf(code)) == 0) deck[size++] = code;
+
+    final Completions black = new Completions(blackCodes, deck);
+    final Completions white = new Completions(whiteCodes, deck);
+    black.evaluate(pool);
+    white.evaluate(pool);
+
+    return sweep(black, white, deck.length);
+  }
+
+  private static Counts sweep(
+      final Completions black, final Completions white, final int deckSize) {
+    final int[] blackOrder = black.orderByStrength();
+    final int[] whiteOrder = white.orderByStrength();
+    final SubsetCounts whiteSubsets = new SubsetCounts(Math.min(black.toDraw, white.toDraw));
+
+    long blackWins = 0;
+    long ties = 0;
+    int nextBlack = 0;
+    int nextWhite = 0;
+    for (int strength = 1; strength <= HandEvaluator.NUMBER_OF_EQUIVALENCE_CLASSES; strength++) {
+      final int firstBlack = nextBlack;
+      long weaker = 0;
+      while (nextBlack < blackOrder.length && black.strengthOf(blackOrder[nextBlack]) == strength)
+        weaker += whiteSubsets.countDisjoint(black.draws[blackOrder[nextBlack++]], black.toDraw);
+
+      while (nextWhite < whiteOrder.length && white.strengthOf(whiteOrder[nextWhite]) == strength)
+        whiteSubsets.add(white.draws[whiteOrder[nextWhite++]], white.toDraw);
+
+      long weakerOrEqual = 0;
+      for (int i = firstBlack; i < nextBlack; i++)
+        weakerOrEqual += whiteSubsets.countDisjoint(black.draws[blackOrder[i]], black.toDraw);
+
+      blackWins += weaker;
+      ties += weakerOrEqual - weaker;
+    }
+
+    final long deals =
+        (long) HandEnumerator.binomial(deckSize, black.toDraw)
+            * HandEnumerator.binomial(deckSize - black.toDraw, white.toDraw);
+    return new Counts(blackWins, deals - blackWins - ties, ties);
+  }
+
+  private static int codeAt(final int draw, final int i) {
+    return draw >>> (i * BITS_PER_CODE) & ((1 << BITS_PER_CODE) - 1);
+  }
+
+  /** Every way to complete one player's hand from the deck, along with its strength. */
+  private static final class Completions {
+    final int[] knownCodes;
+    final int[] deck;
+    final int toDraw;
+
+    /** Drawn codes in ascending order, packed 6 bits each. */
+    final int[] draws;
+
+    final short[] strengths;
+
+    Completions(final int[] knownCodes, final int[] deck) {
+      this.knownCodes = knownCodes;
+      this.deck = deck;
+      this.toDraw = CardParser.CARDS_PER_HAND - knownCodes.length;
+      final int count = HandEnumerator.binomial(deck.length, toDraw);
+      this.draws = new int[count];
+      this.strengths = new short[count];
+    }
+
+    int strengthOf(final int completion) {
+      return strengths[completion];
+    }
+
+    void evaluate(final ForkJoinPool pool) {
+      final List<CompletableFuture<Void>> chunks = new ArrayList<>();
+      for (int from = 0; from < draws.length; from += CHUNK_SIZE) {
+        final int start = from;
+        final int end = Math.min(draws.length, from + CHUNK_SIZE);
+        chunks.add(CompletableFuture.runAsync(() -> evaluate(start, end), pool));
+      }
+      chunks.forEach(CompletableFuture::join);
+    }
+
+    /** Walks the completions from index from to to in colex order of deck positions. */
+    private void evaluate(final int from, final int to) {
+      final int[] positions = new int[toDraw + 1];
+      HandEnumerator.unrank(from, toDraw, deck.length, positions);
+
+      final int[] hand = new int[CardParser.CARDS_PER_HAND];
+      System.arraycopy(knownCodes, 0, hand, 0, knownCodes.length);
+
+      for (int completion = from; ; ) {
+        int draw = 0;
+        for (int i = 0; i < toDraw; i++) {
+          hand[knownCodes.length + i] = deck[positions[i]];
+          draw |= deck[positions[i]] << (i * BITS_PER_CODE);
+        }
+        draws[completion] = draw;
+        strengths[completion] =
+            (short) HandEvaluator.evaluate(hand[0], hand[1], hand[2], hand[3], hand[4]);
+
+        if (++completion == to) return;
+        HandEnumerator.next(positions);
+      }
+    }
+
+    /** Completion indexes sorted by strength, by counting sort. */
+    int[] orderByStrength() {
+      final int[] starts = new int[HandEvaluator.NUMBER_OF_EQUIVALENCE_CLASSES + 2];
+      for (short strength : strengths) starts[strength + 1]++;
+      for (int i = 1; i < starts.length; i++) starts[i] += starts[i - 1];
+
+      final int[] order = new int[strengths.length];
+      for (int completion = 0; completion < strengths.length; completion++)
+        order[starts[strengths[completion]]++] = completion;
+      return order;
+    }
+  }
+
+  /**
+   * Number of completions added so far that hold each subset of cards, for subsets of up to
+   * maxSize cards. Subsets are indexed by their colex rank among subsets of the same size.
+   */
+  private static final class SubsetCounts {
+    private final int maxSize;
+    private final int[][] counts;
+    private long added;
+
+    SubsetCounts(final int maxSize) {
+      this.maxSize = maxSize;
+      this.counts = new int[maxSize + 1][];
+      for (int size = 1; size <= maxSize; size++)
+        counts[size] = new int[HandEnumerator.binomial(PackedCards.NUMBER_OF_CARDS, size)];
+    }
+
+    void add(final int draw, final int numberOfCodes) {
+      for (int subset = 1; subset < 1 << numberOfCodes; subset++) {
+        final int size = Integer.bitCount(subset);
+        if (size <= maxSize) counts[size][indexOf(draw, subset)]++;
+      }
+      added++;
+    }
+
+    /** Completions added so far that share no card with draw, by inclusion-exclusion. */
+    long countDisjoint(final int draw, final int numberOfCodes) {
+      long disjoint = added;
+      for (int subset = 1; subset < 1 << numberOfCodes; subset++) {
+        final int size = Integer.bitCount(subset);
+        if (size > maxSize) continue;
+        if ((size & 1) == 1) disjoint -= counts[size][indexOf(draw, subset)];
+        else disjoint += counts[size][indexOf(draw, subset)];
+      }
+      return disjoint;
+    }
+
+    /** Colex rank of the codes of draw picked by the bits of subset. */
+    private static int indexOf(final int draw, final int subset) {
+      int index = 0;
+      int k = 1;
+      for (int bits = subset; bits != 0; bits &= bits - 1)
+        index += HandEnumerator.binomial(codeAt(draw, Integer.numberOfTrailingZeros(bits)), k++);
+      return index;
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package com.cas;
+
+import lombok.Value;
+
+import java.util.Arrays;
+
+/** Outcome of one game as decided by {@link PokerGame#evaluate(Hand, Hand)}. */
+@Value
+public class GameResult {
+
+  /** "PLAYER [X] WINS! REASON = " for each player, by ordinal */
+  private static final String[] WINS_PREFIXES =
+      Arrays.stream(Player.values())
+          .map(player -> "PLAYER [" + player + "] WINS! REASON = ")
+          .toArray(String[]::new);
+
+  /** null on a tie */
+  Player winner;
+
+  Rank blackRank;
+  Rank whiteRank;
+
+  /**
+   * First cards, in tie break order, where the two hands differ. null when the ranks alone decide
+   * the game and on a tie.
+   */
+  Card blackDecidingCard;
+
+  Card whiteDecidingCard;
+
+  /** Why the winner won, see {@link #getWinningCondition()} for the text. null on a tie. */
+  WinningCondition reason;
+
+  public static GameResult tie(final Rank blackRank, final Rank whiteRank) {
+    return new GameResult(null, blackRank, whiteRank, null, null, null);
+  }
+
+  public static GameResult win(
+      final Player winner,
+      final Rank blackRank,
+      final Rank whiteRank,
+      final Card blackDecidingCard,
+      final Card whiteDecidingCard,
+      final WinningCondition reason) {
+    return new GameResult(
+        winner, blackRank, whiteRank, blackDecidingCard, whiteDecidingCard, reason);
+  }
+
+  public boolean isTie() {
+    return null == this.winner;
+  }
+
+  /**
+   * Why the winner won, e.g. "[FULL_HOUSE] over [FLUSH]". Empty on a tie. Built on every call, use
+   * {@link #getReason()} when the text is not needed.
+   */
+  public String getWinningCondition() {
+    return this.isTie() ? "" : this.reason.format();
+  }
+
+  /** The text returned by {@link PokerGame#play(String[], String[])} */
+  public String format() {
+    if (this.isTie()) return "TIE";
+    return WINS_PREFIXES[this.winner.ordinal()] + this.reason.format();
+  }
+}
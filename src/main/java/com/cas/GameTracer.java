@@ -0,0 +1,34 @@
+package com.cas;
+
+/**
+ * Receives the comparison steps of {@link PokerGame} as they happen. Every method does nothing by
+ * default, so {@link #NO_OP} costs nothing once the JIT has inlined it.
+ *
+ * <p>Tracing is enabled for every game of a PokerGame through its constructor (or the {@value
+ * #TRACE_PROPERTY} system property for the default constructor), or for single calls through
+ * {@link PokerGame#withTracer(GameTracer)}.
+ */
+public interface GameTracer {
+
+  /** Set to "stdout" to trace every game played by a default constructed PokerGame. */
+  String TRACE_PROPERTY = "com.cas.trace";
+
+  GameTracer NO_OP = new GameTracer() {};
+
+  GameTracer STDOUT = new PrintStreamGameTracer(System.out);
+
+  static GameTracer fromSystemProperty() {
+    return "stdout".equalsIgnoreCase(System.getProperty(TRACE_PROPERTY)) ? STDOUT : NO_OP;
+  }
+
+  /** The strengths of both hands were compared, deciding the game. */
+  default void strengthsCompared(
+      final Hand blackHand, final Hand whiteHand, final int compareValue) {}
+
+  /** Values (e.g. the total of a pair) were compared to explain the win. */
+  default void handValuesCompared(final int blackHandValue, final int whiteHandValue) {}
+
+  /** One step of the high card comparison. */
+  default void highCardsCompared(
+      final Card blackHighCard, final Card whiteHighCard, final int compareValue) {}
+}
@@ -1,49 +1,116 @@
 package com.cas;
 
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.NonNull;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.util.*;
 import java.util.stream.Collectors;
 
 @Data
-public class Hand {
+public class Hand implements Comparable<Hand> {
 
+  /** As given, see {@link #getCards()} for the cards sorted by value. */
   @NonNull private final Collection<Card> cards;
 
-  private final Map<Integer, List<Card>> map_CardValueWithMatchingCards;
-  private final Card highCard;
+  /**
+   * Equivalence class of the hand from {@link HandEvaluator}. It encodes the rank and every
+   * kicker, so the stronger of two hands is simply the one with the greater strength.
+   */
+  private final int strength;
+
   private final Rank highestRank;
 
+  /**
+   * Sorted cards, groups of matching values, ranked cards and high card. Only explaining a win
+   * between hands of the same rank needs them, so they are built on first use. Building them twice
+   * from two threads is harmless, both give the same answer.
+   */
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  private volatile Detail detail;
+
+  /** Only the strength and the rank, both table lookups, are worked out here. */
   protected Hand(@NonNull Collection<Card> cards) {
-    this.cards = cards.stream().sorted(Card.COMPARE_CARD_VALUES).collect(Collectors.toList());
-    this.map_CardValueWithMatchingCards = this.buildMapOfCards();
-    this.highCard = ((List<Card>) this.cards).get(4);
+    this.cards = List.copyOf(cards);
+    this.strength = HandEvaluator.evaluate(this.cards);
     this.highestRank = this.determineRank();
   }
 
-  protected Map<Integer, List<Card>> buildMapOfCards() {
-    return this.cards.stream()
+  /** The cards sorted by increasing value. */
+  public Collection<Card> getCards() {
+    return this.detail().sortedCards;
+  }
+
+  public Map<Integer, List<Card>> getMap_CardValueWithMatchingCards() {
+    return this.detail().map_CardValueWithMatchingCards;
+  }
+
+  public List<Card> getRankedCards() {
+    return this.detail().rankedCards;
+  }
+
+  public Card getHighCard() {
+    return this.detail().sortedCards.get(4);
+  }
+
+  /** Whether the cards were sorted and grouped yet, see {@link #detail}. */
+  boolean hasDetail() {
+    return this.detail != null;
+  }
+
+  private Detail detail() {
+    Detail detail = this.detail;
+    if (detail == null) this.detail = detail = new Detail(this);
+    return detail;
+  }
+
+  protected static Map<Integer, List<Card>> buildMapOfCards(final List<Card> sortedCards) {
+    return sortedCards.stream()
         .collect(Collectors.groupingBy(Card::getValueAsInt, Collectors.toList()));
   }
 
+  /**
+   * Orders the cards the way ties are broken: cards whose value occurs most often first, then by
+   * decreasing value. e.g. 3-3-A-3-A becomes 3-3-3-A-A and 2-K-2-9-5 becomes 2-2-K-9-5
+   */
+  protected static List<Card> rankCards(
+      final List<Card> sortedCards, final Map<Integer, List<Card>> cardsByValue) {
+    final Comparator<Card> byNumberOfMatchingCards =
+        Comparator.comparingInt(card -> cardsByValue.get(card.getValueAsInt()).size());
+    return sortedCards.stream()
+        .sorted(byNumberOfMatchingCards.thenComparing(Card.COMPARE_CARD_VALUES).reversed())
+        .collect(Collectors.toList());
+  }
+
   public static Hand newHand(final Collection<String> cards) {
     if (null == cards)
       throw new NullPointerException("Unable to parse null hand in List<String> method!");
 
-    final Set<Card> cardObjectList = new HashSet<>();
-    for (String numberWithSuite : cards) {
-      final String number = numberWithSuite.substring(0, 1);
-      final String suite = numberWithSuite.substring(1);
-      cardObjectList.add(new Card(number, suite));
-    }
-    // cardObjectList is a set, therefore any dupes will not be added
     if (cards.size() != 5) {
       throw new RuntimeException(
           String.format(
               "Poker hand cannot be less than or greater than 5 cards! Size of hand parsed: [%s]",
               cards.size()));
     }
+
+    final List<Card> cardObjectList = new ArrayList<>(5);
+    long cardsSeen = 0;
+    for (String numberWithSuite : cards) {
+      final Card card = Card.of(numberWithSuite);
+      final long cardMask = PackedCards.maskOf(card.getCode());
+      if ((cardsSeen & cardMask) != 0)
+        throw new RuntimeException(
+            String.format("Card [%s] exists more than once in the hand!", numberWithSuite));
+      cardsSeen |= cardMask;
+      cardObjectList.add(card);
+    }
     return new Hand(cardObjectList);
   }
 
@@ -69,9 +136,8 @@ public class Hand {
 
   public List<List<Card>> getTwoPairsCards() {
     List<List<Card>> list_twoPairs = new ArrayList<>();
-    for (Integer cardValue : this.map_CardValueWithMatchingCards.keySet()) {
-      if (map_CardValueWithMatchingCards.get(cardValue).size() == 2)
-        list_twoPairs.addAll(List.of(map_CardValueWithMatchingCards.get(cardValue)));
+    for (List<Card> matchingCards : this.getMap_CardValueWithMatchingCards().values()) {
+      if (matchingCards.size() == 2) list_twoPairs.addAll(List.of(matchingCards));
     }
     return list_twoPairs;
   }
@@ -99,8 +165,8 @@ public class Hand {
    * value by more than 1.
    */
   public boolean hasStraight() {
-    if (this.map_CardValueWithMatchingCards.size() != 5) return false;
-    return this.map_CardValueWithMatchingCards.keySet().stream()
+    if (this.getMap_CardValueWithMatchingCards().size() != 5) return false;
+    return this.getMap_CardValueWithMatchingCards().keySet().stream()
             .reduce(
                 (card1Value, card2Value) -> {
                   if (card1Value.compareTo(card2Value - 1) == 0) return card2Value;
@@ -147,7 +213,8 @@ public class Hand {
   }
 
   public List<Card> getCardsForExpectedSize(final int expectedSize) {
-    for (Map.Entry<Integer, List<Card>> entry : this.map_CardValueWithMatchingCards.entrySet()) {
+    for (Map.Entry<Integer, List<Card>> entry :
+        this.getMap_CardValueWithMatchingCards().entrySet()) {
       if (entry.getValue().size() == expectedSize) return entry.getValue();
     }
     return Collections.emptyList();
@@ -162,15 +229,30 @@ public class Hand {
     return this.hasFlush() && this.hasStraight();
   }
 
+  /**
+   * Resolved through the lookup tables of {@link HandEvaluator} rather than by running the has*
+   * checks above one after the other. Both give the same answer for every hand.
+   */
   public Rank determineRank() {
-    if (this.hasStraightFlush()) return Rank.STRAIGHT_FLUSH;
-    else if (this.hasFourOfAKind()) return Rank.FOUR_OF_A_KIND;
-    else if (this.hasFullHouse()) return Rank.FULL_HOUSE;
-    else if (this.hasFlush()) return Rank.FLUSH;
-    else if (this.hasStraight()) return Rank.STRAIGHT;
-    else if (this.hasThreeOfAKind()) return Rank.THREE_OF_A_KIND;
-    else if (this.hasTwoPairs()) return Rank.TWO_PAIRS;
-    else if (this.hasPair()) return Rank.PAIR;
-    else return Rank.HIGH_CARD;
+    return HandEvaluator.rankOf(this.strength);
+  }
+
+  /** Compares rank and kickers in one go, see {@link #getStrength()}. */
+  @Override
+  public int compareTo(Hand otherHand) {
+    return Integer.compare(this.strength, otherHand.getStrength());
+  }
+
+  private static final class Detail {
+    final List<Card> sortedCards;
+    final Map<Integer, List<Card>> map_CardValueWithMatchingCards;
+    final List<Card> rankedCards;
+
+    Detail(final Hand hand) {
+      this.sortedCards =
+          hand.cards.stream().sorted(Card.COMPARE_CARD_VALUES).collect(Collectors.toList());
+      this.map_CardValueWithMatchingCards = buildMapOfCards(this.sortedCards);
+      this.rankedCards = rankCards(this.sortedCards, this.map_CardValueWithMatchingCards);
+    }
   }
 }
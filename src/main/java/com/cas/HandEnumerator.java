@@ -0,0 +1,252 @@
+package com.cas;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Walks every one of the 2,598,960 five card hands without creating a Card or a Hand.
+ *
+ * <p>Hands are numbered in colex order: with card codes c1 &lt; c2 &lt; c3 &lt; c4 &lt; c5 (see
+ * {@link Card#getCode()}), the index of the hand is C(c1, 1) + C(c2, 2) + C(c3, 3) + C(c4, 4) +
+ * C(c5, 5). Every hand maps to a distinct index in [0, {@link #NUMBER_OF_HANDS}) and any range of
+ * indexes can be walked on its own, which is how the space is split across a fork/join pool.
+ *
+ * <p>Aggregations follow the shape of a collector: each task fills its own partial result through
+ * a {@link HandVisitor}, and partials are merged with a combiner, so visitors need no locking.
+ */
+public final class HandEnumerator {
+
+  public static final int NUMBER_OF_HANDS = 2_598_960;
+
+  private static final int CARDS_PER_HAND = 5;
+
+  /** Indexes walked by a single task before it stops splitting. */
+  private static final int LEAF_SIZE = 1 << 14;
+
+  /** BINOMIALS[n][k] is n choose k. */
+  private static final int[][] BINOMIALS =
+      new int[PackedCards.NUMBER_OF_CARDS + 1][CARDS_PER_HAND + 1];
+
+  static {
+    for (int n = 0; n <= PackedCards.NUMBER_OF_CARDS; n++) {
+      BINOMIALS[n][0] = 1;
+      for (int k = 1; k <= CARDS_PER_HAND && n > 0; k++)
+        BINOMIALS[n][k] = BINOMIALS[n - 1][k - 1] + BINOMIALS[n - 1][k];
+    }
+  }
+
+  /** Receives every hand walked, along with the partial result of the task walking it. */
+  @FunctionalInterface
+  public interface HandVisitor<A> {
+    /**
+     * @param hand the hand packed by {@link PackedCards}
+     * @param strength see {@link HandEvaluator}
+     */
+    void visit(A partial, int index, long hand, int strength);
+  }
+
+  private HandEnumerator() {}
+
+  /** n choose k, for n up to 52 and k up to 5. */
+  static int binomial(final int n, final int k) {
+    return BINOMIALS[n][k];
+  }
+
+  /** Colex index of five distinct card codes, given in ascending order. */
+  public static int indexOf(final int[] codes) {
+    int index = 0;
+    for (int i = 0; i < CARDS_PER_HAND; i++) {
+      if (codes[i] < 0
+          || codes[i] >= PackedCards.NUMBER_OF_CARDS
+          || (i > 0 && codes[i] <= codes[i - 1]))
+        throw new RuntimeException(
+            String.format(
+                "Codes [%s] are not five distinct card codes in ascending order!",
+                Arrays.toString(codes)));
+      index += BINOMIALS[codes[i]][i + 1];
+    }
+    return index;
+  }
+
+  /** Colex index of a hand packed by {@link PackedCards}. */
+  public static int indexOf(final long hand) {
+    if (PackedCards.size(hand) != CARDS_PER_HAND || (hand & ~PackedCards.DECK_MASK) != 0)
+      throw new RuntimeException(
+          String.format("Unable to index hand [%s]!", Long.toHexString(hand)));
+
+    // PackedCards groups cards by suit, so first lay the cards out by code to read them in order
+    long byCode = 0;
+    for (long remaining = hand; remaining != 0; remaining &= remaining - 1)
+      byCode |= 1L << PackedCards.lowestCode(remaining);
+
+    int index = 0;
+    for (int k = 1; byCode != 0; k++, byCode &= byCode - 1)
+      index += BINOMIALS[Long.numberOfTrailingZeros(byCode)][k];
+    return index;
+  }
+
+  /** Writes the five card codes of the hand at index into codes, in ascending order. */
+  public static void unrank(final int index, final int[] codes) {
+    if (index < 0 || index >= NUMBER_OF_HANDS)
+      throw new RuntimeException(String.format("Unable to find hand for index [%s]!", index));
+
+    int remaining = index;
+    int code = PackedCards.NUMBER_OF_CARDS;
+    for (int k = CARDS_PER_HAND; k >= 1; k--) {
+      do code--;
+      while (BINOMIALS[code][k] > remaining);
+      codes[k - 1] = code;
+      remaining -= BINOMIALS[code][k];
+    }
+  }
+
+  /**
+   * Writes the positions of the k cards at index, in colex order of their positions in a deck of
+   * deckSize cards, into positions[0] to positions[k - 1], in ascending order. positions[k] is set
+   * to deckSize, which {@link #next(int[])} needs, so positions holds at least k + 1 entries.
+   */
+  static void unrank(final int index, final int k, final int deckSize, final int[] positions) {
+    int remaining = index;
+    int position = deckSize;
+    for (int j = k; j >= 1; j--) {
+      do position--;
+      while (BINOMIALS[position][j] > remaining);
+      positions[j - 1] = position;
+      remaining -= BINOMIALS[position][j];
+    }
+    positions[k] = deckSize;
+  }
+
+  /**
+   * Moves positions set by {@link #unrank(int, int, int, int[])} to the next index. The caller
+   * stops at the last index, C(deckSize, k) - 1.
+   */
+  static void next(final int[] positions) {
+    // bump the lowest position that has room, reset those below
+    int i = 0;
+    while (positions[i] + 1 == positions[i + 1]) i++;
+    positions[i]++;
+    for (int j = 0; j < i; j++) positions[j] = j;
+  }
+
+  /** The hand at index, packed by {@link PackedCards}. */
+  public static long unrank(final int index) {
+    final int[] codes = new int[CARDS_PER_HAND];
+    unrank(index, codes);
+    long hand = 0;
+    for (int code : codes) hand |= PackedCards.maskOf(code);
+    return hand;
+  }
+
+  /** Walks every hand on the common fork/join pool. */
+  public static <A> A enumerate(
+      final Supplier<A> supplier, final HandVisitor<A> visitor, final BinaryOperator<A> combiner) {
+    return enumerate(ForkJoinPool.commonPool(), supplier, visitor, combiner);
+  }
+
+  /**
+   * Walks every hand on the given pool. Each task asks the supplier for a fresh partial result,
+   * visits its range of hands in index order, and the partials are combined pairwise.
+   */
+  public static <A> A enumerate(
+      final ForkJoinPool pool,
+      final Supplier<A> supplier,
+      final HandVisitor<A> visitor,
+      final BinaryOperator<A> combiner) {
+    return pool.invoke(new EnumerationTask<>(0, NUMBER_OF_HANDS, supplier, visitor, combiner));
+  }
+
+  /** Walks the hands from index from (inclusive) to to (exclusive) on the calling thread. */
+  public static <A> A enumerateRange(
+      final int from, final int to, final A partial, final HandVisitor<A> visitor) {
+    if (from < 0 || to > NUMBER_OF_HANDS || from > to)
+      throw new RuntimeException(
+          String.format("Invalid range of hand indexes [%s, %s)!", from, to));
+    if (from == to) return partial;
+
+    // card codes are positions in the full deck
+    final int[] codes = new int[CARDS_PER_HAND + 1];
+    unrank(from, CARDS_PER_HAND, PackedCards.NUMBER_OF_CARDS, codes);
+
+    for (int index = from; ; ) {
+      final long hand =
+          PackedCards.maskOf(codes[0])
+              | PackedCards.maskOf(codes[1])
+              | PackedCards.maskOf(codes[2])
+              | PackedCards.maskOf(codes[3])
+              | PackedCards.maskOf(codes[4]);
+      visitor.visit(
+          partial,
+          index,
+          hand,
+          HandEvaluator.evaluate(codes[0], codes[1], codes[2], codes[3], codes[4]));
+
+      if (++index == to) return partial;
+      next(codes);
+    }
+  }
+
+  /** Number of hands of each rank. */
+  public static Map<Rank, Long> countByRank() {
+    final long[] counts =
+        enumerate(
+            () -> new long[Rank.values().length],
+            (partial, index, hand, strength) -> partial[HandEvaluator.rankOf(strength).ordinal()]++,
+            HandEnumerator::sum);
+
+    final Map<Rank, Long> countByRank = new EnumMap<>(Rank.class);
+    for (Rank rank : Rank.values()) countByRank.put(rank, counts[rank.ordinal()]);
+    return countByRank;
+  }
+
+  /** Number of hands of each strength, indexed by strength. Index 0 is always 0. */
+  public static long[] countByStrength() {
+    return enumerate(
+        () -> new long[HandEvaluator.NUMBER_OF_EQUIVALENCE_CLASSES + 1],
+        (partial, index, hand, strength) -> partial[strength]++,
+        HandEnumerator::sum);
+  }
+
+  private static long[] sum(final long[] left, final long[] right) {
+    for (int i = 0; i < left.length; i++) left[i] += right[i];
+    return left;
+  }
+
+  private static final class EnumerationTask<A> extends RecursiveTask<A> {
+    private final int from;
+    private final int to;
+    private final Supplier<A> supplier;
+    private final HandVisitor<A> visitor;
+    private final BinaryOperator<A> combiner;
+
+    EnumerationTask(
+        final int from,
+        final int to,
+        final Supplier<A> supplier,
+        final HandVisitor<A> visitor,
+        final BinaryOperator<A> combiner) {
+      this.from = from;
+      this.to = to;
+      this.supplier = supplier;
+      this.visitor = visitor;
+      this.combiner = combiner;
+    }
+
+    @Override
+    protected A compute() {
+      if (to - from <= LEAF_SIZE) return enumerateRange(from, to, supplier.get(), visitor);
+
+      final int middle = (from + to) >>> 1;
+      final EnumerationTask<A> left =
+          new EnumerationTask<>(from, middle, supplier, visitor, combiner);
+      left.fork();
+      final A right = new EnumerationTask<>(middle, to, supplier, visitor, combiner).compute();
+      return combiner.apply(left.join(), right);
+    }
+  }
+}
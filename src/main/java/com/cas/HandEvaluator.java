@@ -0,0 +1,304 @@
+package com.cas;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Table driven evaluator for five card hands.
+ *
+ * <p>Every five card hand belongs to one of 7,462 equivalence classes. Classes are numbered from 1
+ * (the weakest high card hand) to 7,462 (the ace high straight flush), so a greater strength is
+ * always a better hand and two hands tie exactly when their strengths are equal.
+ *
+ * <p>Cards are passed as codes, see {@link Card#getCode()}. A hand is resolved with at most three
+ * lookups:
+ *
+ * <ul>
+ *   <li>five cards of one suit: {@code FLUSHES[rankBits]}
+ *   <li>five distinct values: {@code UNIQUE_FIVES[rankBits]}
+ *   <li>anything else: the product of one prime per card value, looked up in an open addressing
+ *       table
+ * </ul>
+ *
+ * <p>Hands packed by {@link PackedCards} go through the same tables, with the prime product
+ * gathered one suit at a time.
+ *
+ * <p>The tables are built when the class is first used, or copied from the file of {@link
+ * EvaluationTables} when one is configured.
+ *
+ * <p>As with {@link Hand#hasStraight()}, A-2-3-4-5 is not a straight. It ranks as an ace high
+ * hand.
+ */
+public final class HandEvaluator {
+
+  public static final int NUMBER_OF_EQUIVALENCE_CLASSES = 7462;
+
+  private static final int NUMBER_OF_VALUES = 13;
+
+  /** One prime per card value, 2 through ace. The product identifies a multiset of values. */
+  private static final int[] PRIMES = {2, 3, 5, 7, 11, 13, 17, 19, 23, 29, 31, 37, 41};
+
+  /**
+   * Product of the primes of every value in a 13 bit value mask, used for packed hands. The empty
+   * mask maps to 1 so the four suits can simply be multiplied.
+   */
+  private static final int[] PRIME_PRODUCTS = new int[1 << NUMBER_OF_VALUES];
+
+  private static final short[] FLUSHES = new short[1 << NUMBER_OF_VALUES];
+  private static final short[] UNIQUE_FIVES = new short[1 << NUMBER_OF_VALUES];
+
+  private static final int PAIRED_TABLE_BITS = 14;
+  private static final int PAIRED_TABLE_MASK = (1 << PAIRED_TABLE_BITS) - 1;
+  private static final int[] PAIRED_PRODUCTS = new int[1 << PAIRED_TABLE_BITS];
+  private static final short[] PAIRED_STRENGTHS = new short[1 << PAIRED_TABLE_BITS];
+
+  private static final Rank[] RANK_BY_STRENGTH = new Rank[NUMBER_OF_EQUIVALENCE_CLASSES + 1];
+
+  private static final int TABLE_FLUSHES = 0;
+  private static final int TABLE_UNIQUE_FIVES = 1;
+  private static final int TABLE_PAIRED = 2;
+
+  static {
+    PRIME_PRODUCTS[0] = 1;
+    for (int valueMask = 1; valueMask < PRIME_PRODUCTS.length; valueMask++)
+      PRIME_PRODUCTS[valueMask] =
+          PRIMES[Integer.numberOfTrailingZeros(valueMask)]
+              * PRIME_PRODUCTS[valueMask & (valueMask - 1)];
+    final EvaluationTables tables = EvaluationTables.configured();
+    if (tables == null) buildTables();
+    else loadTables(tables);
+  }
+
+  private HandEvaluator() {}
+
+  /**
+   * Evaluates five card codes. The codes must be distinct and between 0 and 51; they are not
+   * checked, e.g. the same card twice evaluates as a pair. See {@link #evaluate(long)} for a
+   * checked variant.
+   *
+   * @return the strength of the hand between 1 and {@link #NUMBER_OF_EQUIVALENCE_CLASSES}
+   */
+  public static int evaluate(
+      final int card1, final int card2, final int card3, final int card4, final int card5) {
+    final int rankBits =
+        1 << (card1 >> 2) | 1 << (card2 >> 2) | 1 << (card3 >> 2) | 1 << (card4 >> 2)
+            | 1 << (card5 >> 2);
+
+    if ((((card1 ^ card2) | (card1 ^ card3) | (card1 ^ card4) | (card1 ^ card5)) & 3) == 0)
+      return FLUSHES[rankBits];
+
+    final int uniqueFive = UNIQUE_FIVES[rankBits];
+    if (uniqueFive != 0) return uniqueFive;
+
+    return lookupPaired(
+        PRIMES[card1 >> 2] * PRIMES[card2 >> 2] * PRIMES[card3 >> 2] * PRIMES[card4 >> 2]
+            * PRIMES[card5 >> 2]);
+  }
+
+  /**
+   * Evaluates a hand packed by {@link PackedCards}.
+   *
+   * @return the strength of the hand, or 0 if the mask does not hold exactly five cards
+   */
+  public static int evaluate(final long hand) {
+    if (Long.bitCount(hand) != 5 || (hand & ~PackedCards.DECK_MASK) != 0) return 0;
+
+    final int clubs = PackedCards.suitMask(hand, 0);
+    final int diamonds = PackedCards.suitMask(hand, 1);
+    final int hearts = PackedCards.suitMask(hand, 2);
+    final int spades = PackedCards.suitMask(hand, 3);
+    final int rankBits = clubs | diamonds | hearts | spades;
+
+    if (Integer.bitCount(rankBits) == 5) {
+      if (rankBits == clubs || rankBits == diamonds || rankBits == hearts || rankBits == spades)
+        return FLUSHES[rankBits];
+      return UNIQUE_FIVES[rankBits];
+    }
+
+    return lookupPaired(
+        PRIME_PRODUCTS[clubs]
+            * PRIME_PRODUCTS[diamonds]
+            * PRIME_PRODUCTS[hearts]
+            * PRIME_PRODUCTS[spades]);
+  }
+
+  /**
+   * {@link #evaluate(long)} for callers that cannot go on without a strength.
+   *
+   * @throws RuntimeException naming the cards, see {@link PackedCards#toText(long)}, unless the
+   *     mask holds exactly five cards
+   */
+  static int strengthOf(final long hand) {
+    final int strength = evaluate(hand);
+    if (strength == 0)
+      throw new RuntimeException(
+          String.format("Unable to evaluate hand [%s]!", PackedCards.toText(hand)));
+    return strength;
+  }
+
+  public static int evaluate(final Collection<Card> cards) {
+    if (cards.size() != 5)
+      throw new RuntimeException(
+          String.format("Unable to evaluate a hand of [%s] cards!", cards.size()));
+
+    final int[] codes = new int[5];
+    int i = 0;
+    for (Card card : cards) {
+      if (card.getCode() < 0)
+        throw new RuntimeException(String.format("Unable to evaluate card [%s]!", card));
+      codes[i++] = card.getCode();
+    }
+    return evaluate(codes[0], codes[1], codes[2], codes[3], codes[4]);
+  }
+
+  public static Rank rankOf(final int strength) {
+    return RANK_BY_STRENGTH[strength];
+  }
+
+  static void saveTables(final EvaluationTables tables) {
+    tables.shorts(EvaluationTables.Section.FIVE_CARD_FLUSHES).put(FLUSHES);
+    tables.shorts(EvaluationTables.Section.FIVE_CARD_UNIQUE_FIVES).put(UNIQUE_FIVES);
+    tables.ints(EvaluationTables.Section.FIVE_CARD_PAIRED_PRODUCTS).put(PAIRED_PRODUCTS);
+    tables.shorts(EvaluationTables.Section.FIVE_CARD_PAIRED_STRENGTHS).put(PAIRED_STRENGTHS);
+    final ByteBuffer ranks = tables.bytes(EvaluationTables.Section.FIVE_CARD_RANKS);
+    for (int strength = 1; strength <= NUMBER_OF_EQUIVALENCE_CLASSES; strength++)
+      ranks.put(strength, (byte) RANK_BY_STRENGTH[strength].ordinal());
+  }
+
+  /** The five card tables are small and on the hottest path, so they are copied to the heap. */
+  private static void loadTables(final EvaluationTables tables) {
+    tables.shorts(EvaluationTables.Section.FIVE_CARD_FLUSHES).get(FLUSHES);
+    tables.shorts(EvaluationTables.Section.FIVE_CARD_UNIQUE_FIVES).get(UNIQUE_FIVES);
+    tables.ints(EvaluationTables.Section.FIVE_CARD_PAIRED_PRODUCTS).get(PAIRED_PRODUCTS);
+    tables.shorts(EvaluationTables.Section.FIVE_CARD_PAIRED_STRENGTHS).get(PAIRED_STRENGTHS);
+    final ByteBuffer ranks = tables.bytes(EvaluationTables.Section.FIVE_CARD_RANKS);
+    for (int strength = 1; strength <= NUMBER_OF_EQUIVALENCE_CLASSES; strength++)
+      RANK_BY_STRENGTH[strength] = Rank.values()[ranks.get(strength)];
+  }
+
+  private static int lookupPaired(final int product) {
+    int slot = hashSlot(product);
+    while (PAIRED_PRODUCTS[slot] != 0) {
+      if (PAIRED_PRODUCTS[slot] == product) return PAIRED_STRENGTHS[slot];
+      slot = (slot + 1) & PAIRED_TABLE_MASK;
+    }
+    return 0;
+  }
+
+  private static int hashSlot(final int product) {
+    return (product * 0x9E3779B1) >>> (32 - PAIRED_TABLE_BITS);
+  }
+
+  /**
+   * Lists every equivalence class once, sorts them from weakest to strongest and writes the
+   * resulting strengths into the lookup tables.
+   *
+   * <p>Each class is packed into a long: the ordering key in the upper 32 bits, followed by the
+   * table it belongs to and the index within that table. The ordering key is the rank followed by
+   * the card values grouped by count (highest count first, then highest value first), which is
+   * exactly the tie break order of the kata.
+   */
+  private static void buildTables() {
+    final List<Long> classes = new ArrayList<>(NUMBER_OF_EQUIVALENCE_CLASSES);
+    final int[] counts = new int[NUMBER_OF_VALUES];
+
+    for (int a = 0; a < NUMBER_OF_VALUES; a++)
+      for (int b = a; b < NUMBER_OF_VALUES; b++)
+        for (int c = b; c < NUMBER_OF_VALUES; c++)
+          for (int d = c; d < NUMBER_OF_VALUES; d++)
+            for (int e = d; e < NUMBER_OF_VALUES; e++) {
+              if (a == e) continue; // five cards of one value
+              Arrays.fill(counts, 0);
+              counts[a]++;
+              counts[b]++;
+              counts[c]++;
+              counts[d]++;
+              counts[e]++;
+
+              final int groupedValues = groupValuesByCount(counts);
+              final int rankBits = 1 << a | 1 << b | 1 << c | 1 << d | 1 << e;
+              if (Integer.bitCount(rankBits) == 5) {
+                final boolean isStraight = e - a == 4;
+                classes.add(
+                    packClass(
+                        isStraight ? Rank.STRAIGHT : Rank.HIGH_CARD,
+                        groupedValues,
+                        TABLE_UNIQUE_FIVES,
+                        rankBits));
+                classes.add(
+                    packClass(
+                        isStraight ? Rank.STRAIGHT_FLUSH : Rank.FLUSH,
+                        groupedValues,
+                        TABLE_FLUSHES,
+                        rankBits));
+              } else {
+                classes.add(
+                    packClass(
+                        rankFromCounts(counts),
+                        groupedValues,
+                        TABLE_PAIRED,
+                        PRIMES[a] * PRIMES[b] * PRIMES[c] * PRIMES[d] * PRIMES[e]));
+              }
+            }
+
+    if (classes.size() != NUMBER_OF_EQUIVALENCE_CLASSES)
+      throw new IllegalStateException(
+          String.format(
+              "Expected [%s] equivalence classes but built [%s]",
+              NUMBER_OF_EQUIVALENCE_CLASSES, classes.size()));
+
+    classes.sort(Long::compare);
+    for (int i = 0; i < classes.size(); i++) {
+      final long packed = classes.get(i);
+      final short strength = (short) (i + 1);
+      final int table = (int) (packed >>> 28) & 3;
+      final int index = (int) packed & 0x0FFFFFFF;
+
+      RANK_BY_STRENGTH[strength] = Rank.values()[(int) (packed >>> 52)];
+      if (table == TABLE_FLUSHES) FLUSHES[index] = strength;
+      else if (table == TABLE_UNIQUE_FIVES) UNIQUE_FIVES[index] = strength;
+      else insertPaired(index, strength);
+    }
+  }
+
+  private static long packClass(
+      final Rank rank, final int groupedValues, final int table, final int index) {
+    final long orderingKey = (long) rank.ordinal() << 20 | groupedValues;
+    return orderingKey << 32 | (long) table << 28 | index;
+  }
+
+  /** Writes one nibble per distinct value: highest count first, then highest value first. */
+  private static int groupValuesByCount(final int[] counts) {
+    int grouped = 0;
+    int nibbles = 0;
+    for (int count = 4; count >= 1; count--)
+      for (int value = NUMBER_OF_VALUES - 1; value >= 0; value--)
+        if (counts[value] == count) {
+          grouped = grouped << 4 | value;
+          nibbles++;
+        }
+    return grouped << (4 * (5 - nibbles));
+  }
+
+  private static Rank rankFromCounts(final int[] counts) {
+    int pairs = 0;
+    int threes = 0;
+    for (int count : counts) {
+      if (count == 4) return Rank.FOUR_OF_A_KIND;
+      if (count == 3) threes++;
+      if (count == 2) pairs++;
+    }
+    if (threes == 1) return pairs == 1 ? Rank.FULL_HOUSE : Rank.THREE_OF_A_KIND;
+    return pairs == 2 ? Rank.TWO_PAIRS : Rank.PAIR;
+  }
+
+  private static void insertPaired(final int product, final short strength) {
+    int slot = hashSlot(product);
+    while (PAIRED_PRODUCTS[slot] != 0) slot = (slot + 1) & PAIRED_TABLE_MASK;
+    PAIRED_PRODUCTS[slot] = product;
+    PAIRED_STRENGTHS[slot] = strength;
+  }
+}
@@ -0,0 +1,129 @@
+package com.cas;
+
+import lombok.Value;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A bounded map that drops its least recently used entries, safe to share between threads.
+ *
+ * <p>Entries are spread over a power of two number of segments by key hash. Each segment is a
+ * {@link LinkedHashMap} in access order behind its own lock, holding at most its share of the
+ * maximum size, so eviction is least recently used within a segment. Values are loaded outside the
+ * lock: two threads missing the same key at once may both load it, and the first value stored wins.
+ */
+public class LruCache<K, V> {
+
+  @Value
+  public static class Statistics {
+    long hits;
+    long misses;
+    long evictions;
+    int size;
+
+    public double getHitRate() {
+      final long requests = hits + misses;
+      return requests == 0 ? 0 : (double) hits / requests;
+    }
+  }
+
+  private final Segment<K, V>[] segments;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * @param maximumSize entries kept at most, over all segments
+   * @param concurrencyLevel threads expected to use the cache at once, rounded up to a power of two
+   *     segments but never more than one segment per entry
+   */
+  @SuppressWarnings("unchecked")
+  public LruCache(final int maximumSize, final int concurrencyLevel) {
+    if (maximumSize <= 0 || concurrencyLevel <= 0)
+      throw new RuntimeException(
+          String.format(
+              "Invalid maximum size [%s] or concurrency level [%s]!",
+              maximumSize, concurrencyLevel));
+
+    int numberOfSegments = 1;
+    while (numberOfSegments < concurrencyLevel && numberOfSegments * 2 <= maximumSize)
+      numberOfSegments <<= 1;
+    segments = new Segment[numberOfSegments];
+    for (int i = 0; i < numberOfSegments; i++)
+      // the first segments take the remainder, so the capacities add up to maximumSize
+      segments[i] =
+          new Segment<>(
+              maximumSize / numberOfSegments + (i < maximumSize % numberOfSegments ? 1 : 0),
+              evictions);
+  }
+
+  /** The cached value of key, loaded and stored on a miss. */
+  public V get(final K key, final Function<? super K, ? extends V> loader) {
+    final Segment<K, V> segment = segmentOf(key);
+    V value;
+    synchronized (segment) {
+      value = segment.get(key);
+    }
+    if (value != null) {
+      hits.increment();
+      return value;
+    }
+
+    misses.increment();
+    final V loaded = loader.apply(key);
+    synchronized (segment) {
+      value = segment.putIfAbsent(key, loaded);
+    }
+    return value != null ? value : loaded;
+  }
+
+  public int size() {
+    int size = 0;
+    for (Segment<K, V> segment : segments)
+      synchronized (segment) {
+        size += segment.size();
+      }
+    return size;
+  }
+
+  public void clear() {
+    for (Segment<K, V> segment : segments)
+      synchronized (segment) {
+        segment.clear();
+      }
+  }
+
+  public Statistics getStatistics() {
+    return new Statistics(hits.sum(), misses.sum(), evictions.sum(), size());
+  }
+
+  int numberOfSegments() {
+    return segments.length;
+  }
+
+  private Segment<K, V> segmentOf(final K key) {
+    final int hash = key.hashCode();
+    return segments[(hash ^ hash >>> 16) & (segments.length - 1)];
+  }
+
+  private static final class Segment<K, V> extends LinkedHashMap<K, V> {
+    private final int capacity;
+    private final LongAdder evictions;
+
+    Segment(final int capacity, final LongAdder evictions) {
+      super(16, 0.75f, true);
+      this.capacity = capacity;
+      this.evictions = evictions;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<K, V> eldest) {
+      if (size() <= capacity) return false;
+      evictions.increment();
+      return true;
+    }
+  }
+}
@@ -0,0 +1,141 @@
+package com.cas;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Remembers the hands and game results of matchups seen before, for workloads that replay the same
+ * games over and over. Games are played by a {@link PokerGame} on a miss.
+ *
+ * <p>Keys are packed hands (see {@link PackedCards}), so the order the cards are written in does
+ * not matter: "2H 3D" and "3d 2h" hit the same entry. Hands are built from their cards in packed
+ * order, so when a result names one of several cards of the same value it names the same one
+ * whatever the input order.
+ *
+ * <p>With {@link Config#isNormalizeSuits()}, matchups that only differ by a renaming of the suits
+ * share one entry as well (see {@link SuitIsomorphism}), as they always have the same winner and
+ * ranks. The entry is the result of the representative of the matchup, and the cards it names are
+ * renamed back to the suits of each caller, so they are always cards of the hands given. Of two
+ * cards of the same value it may name another one than {@link PokerGame} would.
+ *
+ * <p>Anything that is not two valid hands of distinct cards bypasses the cache, so errors are
+ * reported by {@link PokerGame} exactly as without it.
+ */
+public class MatchupCache {
+
+  @Value
+  @Builder
+  public static class Config {
+    /** Matchups kept at most; as many hands are kept again. */
+    @Builder.Default int maximumSize = 1 << 16;
+
+    @Builder.Default int concurrencyLevel = 4 * Runtime.getRuntime().availableProcessors();
+
+    @Builder.Default boolean normalizeSuits = false;
+  }
+
+  @Value
+  private static class Matchup {
+    long black;
+    long white;
+  }
+
+  private final PokerGame game;
+  private final boolean normalizeSuits;
+  private final LruCache<Long, Hand> hands;
+  private final LruCache<Matchup, GameResult> results;
+
+  public MatchupCache(final PokerGame game, final Config config) {
+    this.game = game;
+    this.normalizeSuits = config.isNormalizeSuits();
+    this.hands = new LruCache<>(config.getMaximumSize(), config.getConcurrencyLevel());
+    this.results = new LruCache<>(config.getMaximumSize(), config.getConcurrencyLevel());
+  }
+
+  /** See {@link PokerGame#play(String[], String[])}. */
+  public String play(final String[] strArrBlackHand, final String[] strArrWhiteHand) {
+    return evaluate(strArrBlackHand, strArrWhiteHand).format();
+  }
+
+  /** See {@link PokerGame#evaluate(String[], String[])}. */
+  public GameResult evaluate(final String[] strArrBlackHand, final String[] strArrWhiteHand) {
+    final long black = pack(strArrBlackHand);
+    final long white = pack(strArrWhiteHand);
+    if (black == 0 || white == 0 || (black & white) != 0)
+      return game.evaluate(strArrBlackHand, strArrWhiteHand);
+
+    if (!normalizeSuits)
+      return results.get(
+          new Matchup(black, white), matchup -> game.evaluate(hand(black), hand(white)));
+
+    final SuitIsomorphism.Canonical canonical = SuitIsomorphism.canonical(black, white);
+    final GameResult result =
+        results.get(
+            new Matchup(canonical.getBlack(), canonical.getWhite()),
+            matchup -> game.evaluate(hand(matchup.getBlack()), hand(matchup.getWhite())));
+    return restoreSuits(result, canonical);
+  }
+
+  /** The hand of five cards packed by {@link PackedCards}. */
+  public Hand hand(final long cards) {
+    return hands.get(cards, PackedCards::toHand);
+  }
+
+  public LruCache.Statistics getHandStatistics() {
+    return hands.getStatistics();
+  }
+
+  public LruCache.Statistics getResultStatistics() {
+    return results.getStatistics();
+  }
+
+  public void clear() {
+    hands.clear();
+    results.clear();
+  }
+
+  /** @return the packed hand, or 0 unless the cards are five valid and distinct cards */
+  private static long pack(final String[] cards) {
+    if (cards == null || cards.length != CardParser.CARDS_PER_HAND) return 0;
+    long hand = 0;
+    for (String card : cards) {
+      final int code = Card.codeOf(card);
+      if (code < 0) return 0;
+      hand |= PackedCards.maskOf(code);
+    }
+    return Long.bitCount(hand) == CardParser.CARDS_PER_HAND ? hand : 0;
+  }
+
+  /** The result of the representative of a matchup, naming the cards of the matchup itself. */
+  private static GameResult restoreSuits(
+      final GameResult result, final SuitIsomorphism.Canonical canonical) {
+    // ties and results decided by the ranks alone name no card
+    if (result.getBlackDecidingCard() == null) return result;
+
+    final WinningCondition reason = result.getReason();
+    return GameResult.win(
+        result.getWinner(),
+        result.getBlackRank(),
+        result.getWhiteRank(),
+        restoreSuit(result.getBlackDecidingCard(), canonical),
+        restoreSuit(result.getWhiteDecidingCard(), canonical),
+        new WinningCondition(
+            reason.getKind(),
+            reason.getWinner(),
+            reason.getWinnerRank(),
+            reason.getLoserRank(),
+            reason.getWinnerValue(),
+            reason.getLoserValue(),
+            restoreSuit(reason.getWinnerCard(), canonical),
+            restoreSuit(reason.getLoserCard(), canonical)));
+  }
+
+  private static Card restoreSuit(final Card card, final SuitIsomorphism.Canonical canonical) {
+    if (card == null) return null;
+    final int code = card.getCode();
+    return PackedCards.toCard(
+        PackedCards.code(
+            PackedCards.valueIndexOf(code),
+            canonical.originalSuit(PackedCards.suitIndexOf(code))));
+  }
+}
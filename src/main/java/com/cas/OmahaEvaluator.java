@@ -0,0 +1,240 @@
+package com.cas;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Evaluates Omaha hands, high only: the best five cards made of exactly two of the four hole cards
+ * and exactly three of the five board cards, 60 combinations per player.
+ *
+ * <p>Everything that depends on the board alone is worked out once in a {@link Board} and shared by
+ * all players at the table:
+ *
+ * <ul>
+ *   <li>each of the 10 board triples is kept as a count key, a value mask and the suit its three
+ *       cards share, if any, so a combination costs one table lookup of {@link SevenCardEvaluator}
+ *   <li>each triple gets an upper bound, the best it could make with any two values. Triples are
+ *       tried from the highest bound down and the search stops at the first one whose bound cannot
+ *       beat the best combination found so far
+ * </ul>
+ */
+public final class OmahaEvaluator {
+
+  public static final int HOLE_CARDS = 4;
+  public static final int BOARD_CARDS = 5;
+
+  /** Players a deck can deal four hole cards to next to a full board. */
+  public static final int MAX_PLAYERS = (PackedCards.NUMBER_OF_CARDS - BOARD_CARDS) / HOLE_CARDS;
+
+  private static final int HOLE_PAIRS = 6;
+  private static final int BOARD_TRIPLES = 10;
+  private static final int NUMBER_OF_VALUES = 13;
+  private static final int NO_SUIT = -1;
+
+  private OmahaEvaluator() {}
+
+  /**
+   * Evaluates one player's hand, both packed by {@link PackedCards}.
+   *
+   * @return the strength of the best hand, see {@link HandEvaluator}
+   */
+  public static int evaluate(final long holeCards, final long board) {
+    return board(board).evaluate(holeCards);
+  }
+
+  public static int evaluate(final Collection<Card> holeCards, final Collection<Card> board) {
+    return evaluate(PackedCards.toMask(holeCards), PackedCards.toMask(board));
+  }
+
+  public static Rank rankOf(final int strength) {
+    return HandEvaluator.rankOf(strength);
+  }
+
+  /** Precomputes the board, to evaluate any number of players against it. */
+  public static Board board(final long board) {
+    return new Board(board);
+  }
+
+  public static Board board(final Collection<Card> board) {
+    return board(PackedCards.toMask(board));
+  }
+
+  /** The board side of every combination, immutable and safe to share between threads. */
+  public static final class Board {
+    private final long cards;
+
+    // the 10 triples, highest bound first
+    private final int[] tripleKeys = new int[BOARD_TRIPLES];
+    private final int[] tripleValues = new int[BOARD_TRIPLES];
+    private final int[] tripleSuits = new int[BOARD_TRIPLES];
+    private final int[] tripleBounds = new int[BOARD_TRIPLES];
+
+    private Board(final long cards) {
+      if (Long.bitCount(cards) != BOARD_CARDS || (cards & ~PackedCards.DECK_MASK) != 0)
+        throw new RuntimeException(
+            String.format("Invalid Omaha board [%s]!", Long.toHexString(cards)));
+      this.cards = cards;
+
+      final int[] codes = new int[BOARD_CARDS];
+      PackedCards.toCodes(cards, codes);
+      int triple = 0;
+      for (int i = 0; i < BOARD_CARDS; i++)
+        for (int j = i + 1; j < BOARD_CARDS; j++)
+          for (int k = j + 1; k < BOARD_CARDS; k++) {
+            final int key = keyOf(codes[i]) + keyOf(codes[j]) + keyOf(codes[k]);
+            final int values = valueOf(codes[i]) | valueOf(codes[j]) | valueOf(codes[k]);
+            final int suit =
+                suitOf(codes[i], codes[j]) == suitOf(codes[j], codes[k])
+                    ? suitOf(codes[i], codes[j])
+                    : NO_SUIT;
+            insert(triple++, key, values, suit, bound(key, values, suit));
+          }
+    }
+
+    public long getCards() {
+      return cards;
+    }
+
+    /**
+     * @return the strength of the player's best hand, see {@link HandEvaluator}
+     */
+    public int evaluate(final long holeCards) {
+      validateHoleCards(holeCards);
+      return evaluate(holeCards, 0);
+    }
+
+    public int evaluate(final Collection<Card> holeCards) {
+      return evaluate(PackedCards.toMask(holeCards));
+    }
+
+    /** Strength of every player's best hand, ranked seat by seat as a {@link Showdown}. */
+    public Showdown.Result showdown(final long... holeCards) {
+      validatePlayers(holeCards);
+      final int[] strengths = new int[holeCards.length];
+      for (int seat = 0; seat < holeCards.length; seat++)
+        strengths[seat] = evaluate(holeCards[seat], 0);
+      return Showdown.rank(strengths);
+    }
+
+    /**
+     * The seats that share the pot, in seat order. Cheaper than {@link #showdown(long...)}: each
+     * player's search stops as soon as it cannot reach the best hand at the table so far.
+     */
+    public List<Integer> winners(final long... holeCards) {
+      validatePlayers(holeCards);
+      final List<Integer> winners = new ArrayList<>();
+      int best = 0;
+      for (int seat = 0; seat < holeCards.length; seat++) {
+        final int strength = evaluate(holeCards[seat], best - 1);
+        if (strength > best) {
+          best = strength;
+          winners.clear();
+        }
+        if (strength == best) winners.add(seat);
+      }
+      return winners;
+    }
+
+    /**
+     * @return the strength of the best hand, or at most floor if no hand is stronger than floor
+     */
+    private int evaluate(final long holeCards, final int floor) {
+      final int[] codes = new int[HOLE_CARDS];
+      PackedCards.toCodes(holeCards, codes);
+      final int[] pairKeys = new int[HOLE_PAIRS];
+      final int[] pairValues = new int[HOLE_PAIRS];
+      final int[] pairSuits = new int[HOLE_PAIRS];
+      int pair = 0;
+      for (int i = 0; i < HOLE_CARDS; i++)
+        for (int j = i + 1; j < HOLE_CARDS; j++, pair++) {
+          pairKeys[pair] = keyOf(codes[i]) + keyOf(codes[j]);
+          pairValues[pair] = valueOf(codes[i]) | valueOf(codes[j]);
+          pairSuits[pair] = suitOf(codes[i], codes[j]);
+        }
+
+      int best = floor;
+      for (int triple = 0; triple < BOARD_TRIPLES && tripleBounds[triple] > best; triple++)
+        for (pair = 0; pair < HOLE_PAIRS; pair++) {
+          // five cards of one suit have five distinct values, so the flush beats any other hand
+          final int strength =
+              pairSuits[pair] != NO_SUIT && pairSuits[pair] == tripleSuits[triple]
+                  ? SevenCardEvaluator.flushStrength(tripleValues[triple] | pairValues[pair])
+                  : SevenCardEvaluator.countsStrength(tripleKeys[triple] + pairKeys[pair]);
+          if (strength > best) best = strength;
+        }
+      return best;
+    }
+
+    /** Best strength the triple makes with any two values, whether or not those cards are left. */
+    private static int bound(final int key, final int values, final int suit) {
+      int bound = 0;
+      for (int first = 0; first < NUMBER_OF_VALUES; first++)
+        for (int second = first; second < NUMBER_OF_VALUES; second++) {
+          // 0 when the triple and the pair hold five of a value
+          bound =
+              Math.max(
+                  bound,
+                  SevenCardEvaluator.countsStrength(
+                      key
+                          + SevenCardEvaluator.countKey(first)
+                          + SevenCardEvaluator.countKey(second)));
+          final int pairValues = 1 << first | 1 << second;
+          if (suit != NO_SUIT && first != second && (values & pairValues) == 0)
+            bound = Math.max(bound, SevenCardEvaluator.flushStrength(values | pairValues));
+        }
+      return bound;
+    }
+
+    /** Insertion sort on the bound, highest first. */
+    private void insert(
+        final int count, final int key, final int values, final int suit, final int bound) {
+      int i = count;
+      for (; i > 0 && tripleBounds[i - 1] < bound; i--) {
+        tripleKeys[i] = tripleKeys[i - 1];
+        tripleValues[i] = tripleValues[i - 1];
+        tripleSuits[i] = tripleSuits[i - 1];
+        tripleBounds[i] = tripleBounds[i - 1];
+      }
+      tripleKeys[i] = key;
+      tripleValues[i] = values;
+      tripleSuits[i] = suit;
+      tripleBounds[i] = bound;
+    }
+
+    private void validatePlayers(final long[] holeCards) {
+      Showdown.validateNumberOfHands(holeCards.length, MAX_PLAYERS);
+      long cardsSeen = 0;
+      for (long hand : holeCards) {
+        validateHoleCards(hand);
+        Showdown.validateNotSeen(cardsSeen, hand);
+        cardsSeen |= hand;
+      }
+    }
+
+    private void validateHoleCards(final long holeCards) {
+      if (Long.bitCount(holeCards) != HOLE_CARDS || (holeCards & ~PackedCards.DECK_MASK) != 0)
+        throw new RuntimeException(
+            String.format("Invalid Omaha hole cards [%s]!", Long.toHexString(holeCards)));
+      if ((holeCards & cards) != 0)
+        throw new RuntimeException(
+            String.format(
+                "Card [%s] is both on the board and in a hand!",
+                PackedCards.toCard(PackedCards.lowestCode(holeCards & cards)).getText()));
+    }
+  }
+
+  private static int keyOf(final int code) {
+    return SevenCardEvaluator.countKey(PackedCards.valueIndexOf(code));
+  }
+
+  private static int valueOf(final int code) {
+    return 1 << PackedCards.valueIndexOf(code);
+  }
+
+  /** The suit both cards share, or NO_SUIT. */
+  private static int suitOf(final int code, final int other) {
+    final int suit = PackedCards.suitIndexOf(code);
+    return suit == PackedCards.suitIndexOf(other) ? suit : NO_SUIT;
+  }
+}
@@ -0,0 +1,144 @@
+package com.cas;
+
+import lombok.Value;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Plays one known hand against every hand the rest of the deck can deal, C(47, 5) = 1,533,939
+ * opponents, and counts the outcomes by the rank of the opponent.
+ *
+ * <p>The known hand is evaluated once. Opponents are walked in colex order of their positions in
+ * the remaining deck, in chunks spread over a fork/join pool, and go straight to {@link
+ * HandEvaluator}: no {@link Hand}, {@link GameResult} or string is built along the way.
+ */
+public class OpponentAnalyzer {
+
+  /** Outcomes from the known hand's point of view. */
+  @Value
+  public static class Outcomes {
+    long wins;
+    long ties;
+    long losses;
+
+    public long getOpponents() {
+      return wins + ties + losses;
+    }
+
+    public double getWinProbability() {
+      return (double) wins / getOpponents();
+    }
+
+    public double getTieProbability() {
+      return (double) ties / getOpponents();
+    }
+
+    public double getLossProbability() {
+      return (double) losses / getOpponents();
+    }
+  }
+
+  @Value
+  public static class Report {
+    /** The known hand, packed by {@link PackedCards}. */
+    long hand;
+
+    /** See {@link HandEvaluator}. */
+    int strength;
+
+    Rank rank;
+
+    Outcomes total;
+
+    /** Every rank, including those no opponent can make, e.g. four of a kind against four aces. */
+    Map<Rank, Outcomes> byOpponentRank;
+  }
+
+  public static final int NUMBER_OF_OPPONENTS = 1_533_939;
+
+  /** Opponents walked by a single task. */
+  private static final int CHUNK_SIZE = 1 << 15;
+
+  private static final int DECK_SIZE = PackedCards.NUMBER_OF_CARDS - CardParser.CARDS_PER_HAND;
+  private static final int WIN = 0;
+  private static final int TIE = 1;
+  private static final int LOSS = 2;
+
+  private final ForkJoinPool pool;
+
+  public OpponentAnalyzer() {
+    this(ForkJoinPool.commonPool());
+  }
+
+  public OpponentAnalyzer(final ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  public Report analyze(final Hand hand) {
+    return analyze(PackedCards.toMask(hand));
+  }
+
+  /** Analyzes a hand of five cards packed by {@link PackedCards}. */
+  public Report analyze(final long hand) {
+    final int strength = HandEvaluator.strengthOf(hand);
+
+    final int[] deck = new int[DECK_SIZE];
+    int size = 0;
+    for (int code = 0; code < PackedCards.NUMBER_OF_CARDS; code++)
+      if ((hand & PackedCards.maskOf(code)) == 0) deck[size++] = code;
+
+    final long[] tally =
+        new ChunkedTally(pool, CHUNK_SIZE, Rank.values().length * 3)
+            .submit(NUMBER_OF_OPPONENTS, (from, to) -> tally(deck, strength, from, to))
+            .join();
+
+    final Map<Rank, Outcomes> byOpponentRank = new EnumMap<>(Rank.class);
+    long wins = 0;
+    long ties = 0;
+    long losses = 0;
+    for (Rank rank : Rank.values()) {
+      final int offset = rank.ordinal() * 3;
+      byOpponentRank.put(
+          rank, new Outcomes(tally[offset + WIN], tally[offset + TIE], tally[offset + LOSS]));
+      wins += tally[offset + WIN];
+      ties += tally[offset + TIE];
+      losses += tally[offset + LOSS];
+    }
+    return new Report(
+        hand,
+        strength,
+        HandEvaluator.rankOf(strength),
+        new Outcomes(wins, ties, losses),
+        Collections.unmodifiableMap(byOpponentRank));
+  }
+
+  /**
+   * Walks the opponents from index from to to.
+   *
+   * @return wins, ties and losses for each opponent rank, by rank ordinal
+   */
+  private static long[] tally(final int[] deck, final int strength, final int from, final int to) {
+    final int[] positions = new int[CardParser.CARDS_PER_HAND + 1];
+    HandEnumerator.unrank(from, CardParser.CARDS_PER_HAND, deck.length, positions);
+
+    final long[] tally = new long[Rank.values().length * 3];
+    for (int opponent = from; ; ) {
+      final int opponentStrength =
+          HandEvaluator.evaluate(
+              deck[positions[0]],
+              deck[positions[1]],
+              deck[positions[2]],
+              deck[positions[3]],
+              deck[positions[4]]);
+      final int outcome =
+          strength > opponentStrength ? WIN : strength == opponentStrength ? TIE : LOSS;
+      tally[HandEvaluator.rankOf(opponentStrength).ordinal() * 3 + outcome]++;
+
+      if (++opponent == to) return tally;
+      HandEnumerator.next(positions);
+    }
+  }
+}
@@ -0,0 +1,126 @@
+package com.cas;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Primitive form of cards and hands, for code that keeps millions of them around.
+ *
+ * <p>A card is an int code between 0 and 51: (value - 2) * 4 + suit ordinal, the same code as
+ * {@link Card#getCode()}.
+ *
+ * <p>A hand is a long bit mask made of four 16 bit lanes, one per suit in {@link Suit} order. The
+ * low 13 bits of each lane hold the values of that suit, bit 0 for the 2 up to bit 12 for the ace.
+ * e.g. 2C = bit 0, AC = bit 12, 2D = bit 16, AS = bit 60
+ */
+public final class PackedCards {
+
+  public static final int NUMBER_OF_CARDS = 52;
+
+  /** Bits that can be set in a hand mask. */
+  public static final long DECK_MASK = 0x1FFF_1FFF_1FFF_1FFFL;
+
+  private static final int SUIT_MASK = 0x1FFF;
+
+  private PackedCards() {}
+
+  public static int code(final int valueIndex, final int suitIndex) {
+    return valueIndex << 2 | suitIndex;
+  }
+
+  /** 0 for a 2 through 12 for an ace. */
+  public static int valueIndexOf(final int code) {
+    return code >> 2;
+  }
+
+  public static int suitIndexOf(final int code) {
+    return code & 3;
+  }
+
+  public static long maskOf(final int code) {
+    return 1L << ((code & 3) << 4 | code >> 2);
+  }
+
+  /** Code of the lowest card in the mask: clubs before diamonds, then by value. */
+  public static int lowestCode(final long hand) {
+    final int bit = Long.numberOfTrailingZeros(hand);
+    return (bit & 15) << 2 | bit >> 4;
+  }
+
+  /** The 13 bit value mask of one suit, see {@link Suit#ordinal()}. */
+  public static int suitMask(final long hand, final int suitIndex) {
+    return (int) (hand >>> (suitIndex << 4)) & SUIT_MASK;
+  }
+
+  /** Values present in the hand, whatever their suit. */
+  public static int valueMask(final long hand) {
+    return (int) (hand | hand >>> 16 | hand >>> 32 | hand >>> 48) & SUIT_MASK;
+  }
+
+  public static int size(final long hand) {
+    return Long.bitCount(hand);
+  }
+
+  /**
+   * Writes the codes of the hand into dest, lowest first.
+   *
+   * @return the number of codes written
+   */
+  public static int toCodes(final long hand, final int[] dest) {
+    int count = 0;
+    for (long remaining = hand; remaining != 0; remaining &= remaining - 1)
+      dest[count++] = lowestCode(remaining);
+    return count;
+  }
+
+  public static long toMask(final Collection<Card> cards) {
+    long hand = 0;
+    for (Card card : cards) {
+      if (card.getCode() < 0)
+        throw new RuntimeException(String.format("Unable to pack card [%s]!", card));
+      hand |= maskOf(card.getCode());
+    }
+    return hand;
+  }
+
+  public static long toMask(final Hand hand) {
+    return toMask(hand.getCards());
+  }
+
+  public static Card toCard(final int code) {
+    return Card.of(code);
+  }
+
+  public static List<Card> toCards(final long hand) {
+    final List<Card> cards = new ArrayList<>(size(hand));
+    for (long remaining = hand; remaining != 0; remaining &= remaining - 1)
+      cards.add(toCard(lowestCode(remaining)));
+    return cards;
+  }
+
+  /**
+   * The cards of the hand by their two letters, suit by suit in {@link Suit} order and by value
+   * within a suit, e.g. "8C 2D 2H 9S". Bits that are no card, outside {@link #DECK_MASK}, follow in
+   * hexadecimal.
+   */
+  public static String toText(final long hand) {
+    final StringBuilder text = new StringBuilder();
+    for (Card card : toCards(hand & DECK_MASK)) {
+      if (text.length() > 0) text.append(' ');
+      text.append(card.getText());
+    }
+    if ((hand & ~DECK_MASK) != 0) {
+      if (text.length() > 0) text.append(' ');
+      text.append(Long.toHexString(hand & ~DECK_MASK));
+    }
+    return text.toString();
+  }
+
+  public static Hand toHand(final long hand) {
+    if (size(hand) != 5 || (hand & ~DECK_MASK) != 0)
+      throw new RuntimeException(
+          String.format("Unable to unpack hand [%s] into 5 cards!", Long.toHexString(hand)));
+    return new Hand(toCards(hand));
+  }
+}
@@ -0,0 +1,307 @@
+package com.cas;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Plays a stream of kata games on a work stealing pool. Produces the same result lines as {@link
+ * BatchRunner}.
+ *
+ * <p>The calling thread reads the input into chunks of whole lines, hands each chunk to the pool
+ * and writes the results of finished chunks. At most {@link Config#getMaxChunksInFlight()} chunks
+ * are read but not yet written, so memory stays flat whatever the size of the input. Results are
+ * written in input order, or as soon as each chunk is done when ordering is turned off.
+ *
+ * <p>Workers evaluate with {@link HandEvaluator}, which like {@link PokerGame} holds no mutable
+ * state, so chunks need no locking. The pool is owned by the pipeline, close it when done.
+ */
+public class ParallelBatchPipeline implements AutoCloseable {
+
+  @Value
+  @Builder
+  public static class Config {
+    @Builder.Default int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /** Bytes read per chunk, which is also the longest line that can be read. */
+    @Builder.Default int chunkSize = 1 << 20;
+
+    /** Chunks read but not yet written, bounding the memory used to about this many chunks. */
+    @Builder.Default int maxChunksInFlight = 4 * Runtime.getRuntime().availableProcessors();
+
+    /** Write results in input order, otherwise in the order chunks finish. */
+    @Builder.Default boolean ordered = true;
+  }
+
+  /** Totals since the pipeline was created, per stage. Times are the sum over all threads. */
+  @Value
+  public static class Statistics {
+    long chunksRead;
+    long bytesRead;
+    long readNanos;
+    long chunksEvaluated;
+    long gamesEvaluated;
+    long evaluateNanos;
+    long chunksWritten;
+    long bytesWritten;
+    long writeNanos;
+  }
+
+  private final Config config;
+  private final ForkJoinPool pool;
+
+  private final LongAdder chunksRead = new LongAdder();
+  private final LongAdder bytesRead = new LongAdder();
+  private final LongAdder readNanos = new LongAdder();
+  private final LongAdder chunksEvaluated = new LongAdder();
+  private final LongAdder gamesEvaluated = new LongAdder();
+  private final LongAdder evaluateNanos = new LongAdder();
+  private final LongAdder chunksWritten = new LongAdder();
+  private final LongAdder bytesWritten = new LongAdder();
+  private final LongAdder writeNanos = new LongAdder();
+
+  public ParallelBatchPipeline() {
+    this(Config.builder().build());
+  }
+
+  public ParallelBatchPipeline(final Config config) {
+    if (config.getParallelism() <= 0 || config.getChunkSize() <= 0)
+      throw new RuntimeException(
+          String.format(
+              "Invalid parallelism [%s] or chunk size [%s]!",
+              config.getParallelism(), config.getChunkSize()));
+    if (config.getMaxChunksInFlight() <= 0)
+      throw new RuntimeException(
+          String.format("Invalid number of chunks in flight [%s]!", config.getMaxChunksInFlight()));
+    this.config = config;
+    this.pool = new ForkJoinPool(config.getParallelism());
+  }
+
+  public Config getConfig() {
+    return config;
+  }
+
+  public Statistics getStatistics() {
+    return new Statistics(
+        chunksRead.sum(),
+        bytesRead.sum(),
+        readNanos.sum(),
+        chunksEvaluated.sum(),
+        gamesEvaluated.sum(),
+        evaluateNanos.sum(),
+        chunksWritten.sum(),
+        bytesWritten.sum(),
+        writeNanos.sum());
+  }
+
+  /**
+   * Plays every game in input and writes the results to output, replacing its content.
+   *
+   * @return the number of games played
+   */
+  public long run(final Path input, final Path output) throws IOException {
+    try (InputStream in = Files.newInputStream(input);
+        OutputStream out = Files.newOutputStream(output)) {
+      return run(in, out);
+    }
+  }
+
+  /**
+   * Plays every game until the end of input. Neither stream is closed.
+   *
+   * @return the number of games played
+   */
+  public long run(final InputStream input, final OutputStream output) throws IOException {
+    return new Run(output).readAll(input);
+  }
+
+  @Override
+  public void close() {
+    pool.shutdown();
+  }
+
+  /** Whole lines read from the input, and the results once evaluated. */
+  private static final class Chunk {
+    final byte[] lines;
+    final int length;
+    final long firstLineNumber;
+    final int numberOfLines;
+
+    byte[] results;
+    int resultsLength;
+    int games;
+
+    Chunk(
+        final byte[] lines,
+        final int length,
+        final long firstLineNumber,
+        final int numberOfLines) {
+      this.lines = lines;
+      this.length = length;
+      this.firstLineNumber = firstLineNumber;
+      this.numberOfLines = numberOfLines;
+    }
+  }
+
+  private Chunk evaluate(final Chunk chunk) {
+    final long start = System.nanoTime();
+    final ByteBuffer lines = ByteBuffer.wrap(chunk.lines, 0, chunk.length);
+    final int[] codes = new int[CardParser.CARDS_PER_GAME];
+    final byte[] results = new byte[chunk.numberOfLines * BatchRunner.MAX_RESULT_LENGTH];
+    int resultsLength = 0;
+    int games = 0;
+    long lineNumber = chunk.firstLineNumber;
+
+    int lineStart = 0;
+    while (lineStart < chunk.length) {
+      int lineEnd = lineStart;
+      while (lineEnd < chunk.length && chunk.lines[lineEnd] != '\n') lineEnd++;
+
+      final byte[] result = BatchRunner.play(lines, lineStart, lineEnd, codes, lineNumber++);
+      if (result != null) {
+        System.arraycopy(result, 0, results, resultsLength, result.length);
+        resultsLength += result.length;
+        games++;
+      }
+      lineStart = lineEnd + 1;
+    }
+
+    chunk.results = results;
+    chunk.resultsLength = resultsLength;
+    chunk.games = games;
+    chunksEvaluated.increment();
+    gamesEvaluated.add(games);
+    evaluateNanos.add(System.nanoTime() - start);
+    return chunk;
+  }
+
+  /** State of one call to run, only touched by the calling thread. */
+  private final class Run {
+    private final OutputStream output;
+    private final Deque<CompletableFuture<Chunk>> pending = new ArrayDeque<>();
+    private final BlockingQueue<CompletableFuture<Chunk>> completed = new LinkedBlockingQueue<>();
+    private int inFlight;
+    private long games;
+
+    Run(final OutputStream output) {
+      this.output = output;
+    }
+
+    long readAll(final InputStream input) throws IOException {
+      final int chunkSize = config.getChunkSize();
+      byte[] buffer = new byte[chunkSize];
+      int filled = 0;
+      long nextLineNumber = 1;
+
+      while (true) {
+        final long start = System.nanoTime();
+        final int read = input.read(buffer, filled, chunkSize - filled);
+        readNanos.add(System.nanoTime() - start);
+
+        if (read < 0) {
+          // the last line may not end with a newline
+          if (filled > 0)
+            submit(new Chunk(buffer, filled, nextLineNumber, countLines(buffer, filled) + 1));
+          break;
+        }
+        bytesRead.add(read);
+        filled += read;
+        if (filled < chunkSize) continue;
+
+        final int end = lastLineEnd(buffer, filled);
+        if (end == 0)
+          throw new RuntimeException(
+              String.format(
+                  "Line [%s] is longer than the chunk size of [%s] bytes!",
+                  nextLineNumber, chunkSize));
+
+        final byte[] next = new byte[chunkSize];
+        System.arraycopy(buffer, end, next, 0, filled - end);
+        final int numberOfLines = countLines(buffer, end);
+        submit(new Chunk(buffer, end, nextLineNumber, numberOfLines));
+        nextLineNumber += numberOfLines;
+        buffer = next;
+        filled -= end;
+      }
+
+      while (inFlight > 0) write(nextCompleted(true));
+      output.flush();
+      return games;
+    }
+
+    private void submit(final Chunk chunk) throws IOException {
+      chunksRead.increment();
+      while (inFlight >= config.getMaxChunksInFlight()) write(nextCompleted(true));
+
+      final CompletableFuture<Chunk> future =
+          CompletableFuture.supplyAsync(() -> evaluate(chunk), pool);
+      if (config.isOrdered()) pending.addLast(future);
+      else future.whenComplete((result, error) -> completed.add(future));
+      inFlight++;
+
+      for (CompletableFuture<Chunk> done = nextCompleted(false);
+          done != null;
+          done = nextCompleted(false)) write(done);
+    }
+
+    /** The next chunk to write, or null if it is not done yet and wait is false. */
+    private CompletableFuture<Chunk> nextCompleted(final boolean wait) {
+      if (config.isOrdered()) {
+        final CompletableFuture<Chunk> head = pending.peekFirst();
+        if (head == null || (!wait && !head.isDone())) return null;
+        return pending.pollFirst();
+      }
+      if (!wait) return completed.poll();
+      try {
+        return completed.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException("Interrupted while waiting for a chunk!", e);
+      }
+    }
+
+    private void write(final CompletableFuture<Chunk> future) throws IOException {
+      final Chunk chunk;
+      try {
+        chunk = future.join();
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+        throw e;
+      }
+      inFlight--;
+
+      final long start = System.nanoTime();
+      output.write(chunk.results, 0, chunk.resultsLength);
+      writeNanos.add(System.nanoTime() - start);
+      bytesWritten.add(chunk.resultsLength);
+      chunksWritten.increment();
+      games += chunk.games;
+    }
+  }
+
+  /** Index just after the last newline, or 0 if there is none. */
+  private static int lastLineEnd(final byte[] buffer, final int length) {
+    for (int i = length - 1; i >= 0; i--) if (buffer[i] == '\n') return i + 1;
+    return 0;
+  }
+
+  private static int countLines(final byte[] buffer, final int length) {
+    int lines = 0;
+    for (int i = 0; i < length; i++) if (buffer[i] == '\n') lines++;
+    return lines;
+  }
+}
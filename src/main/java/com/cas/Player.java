@@ -0,0 +1,6 @@
+package com.cas;
+
+public enum Player {
+  BLACK,
+  WHITE
+}
@@ -1,9 +1,5 @@
 package com.cas;
 
-import lombok.Getter;
-
-import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -20,61 +16,82 @@ import static com.cas.Rank.*;
  *
  * <p>T = 10 J = 11 Q = 12 K = 13 A = 14
  */
-@Getter
 public class PokerGame {
 
   private static final Set<Rank> RANK_VALUES_THAT_USE_HIGH_CARD_TO_DETERMINE_WINNER =
       Set.of(STRAIGHT_FLUSH, FLUSH, STRAIGHT, HIGH_CARD);
 
-  private String playerWhoWon = null;
-  private String winningCondition = "";
+  private final GameTracer tracer;
 
-  public String play(final String[] strArrBlackHand, final String[] strArrWhiteHand) {
-    PokerUtils.validateCardsInput(strArrBlackHand, strArrWhiteHand);
+  /** Traces nothing unless the {@value GameTracer#TRACE_PROPERTY} system property says so. */
+  public PokerGame() {
+    this(GameTracer.fromSystemProperty());
+  }
 
-    final Hand blackHand = Hand.newHand(strArrBlackHand);
-    final Hand whiteHand = Hand.newHand(strArrWhiteHand);
-
-    List<Card> blackHandCardsToCompare = new ArrayList<>();
-    List<Card> whiteHandCardsToCompare = new ArrayList<>();
-
-    if (doPlayersHaveMatchingRanks(blackHand, whiteHand)) {
-      final Rank matchingRank = blackHand.getHighestRank();
-
-      if (RANK_VALUES_THAT_USE_HIGH_CARD_TO_DETERMINE_WINNER.contains(matchingRank))
-        setWinnerBasedOnHighCardHandComparison(blackHand, whiteHand);
-      else if (matchingRank == FOUR_OF_A_KIND) {
-        blackHandCardsToCompare = blackHand.getFourOfAKindCards();
-        whiteHandCardsToCompare = whiteHand.getFourOfAKindCards();
-      } else if (matchingRank == FULL_HOUSE) {
-        blackHandCardsToCompare = blackHand.getFullHouseCards();
-        whiteHandCardsToCompare = whiteHand.getFullHouseCards();
-      } else if (matchingRank == THREE_OF_A_KIND) {
-        blackHandCardsToCompare = blackHand.getThreeOfAKindCards();
-        whiteHandCardsToCompare = whiteHand.getThreeOfAKindCards();
-      } else if (matchingRank == TWO_PAIRS) handleTwoPairs(blackHand, whiteHand);
-      else if (matchingRank == PAIR) handlePairs(blackHand, whiteHand);
-
-      // if rank exists in RANK_VALUE_SET_FOR_HIGH_CARDS list, both lists will still be empty
-      if (!blackHandCardsToCompare.isEmpty() && !whiteHandCardsToCompare.isEmpty()) {
-        determineAndSetWinnerBasedOnCardsValues(
-            blackHand.getHighestRank(), blackHandCardsToCompare,
-            whiteHand.getHighestRank(), whiteHandCardsToCompare);
-      }
+  public PokerGame(final GameTracer tracer) {
+    this.tracer = tracer;
+  }
 
-    } else {
-      // if players do not have matching ranks
-      setWinnerBasedOnRank(blackHand.getHighestRank(), whiteHand.getHighestRank());
-    }
+  /** A PokerGame that reports to the given tracer, e.g. to trace a single call. */
+  public PokerGame withTracer(final GameTracer tracer) {
+    return new PokerGame(tracer);
+  }
 
-    return formatAndPrintWinner();
+  /** Kept for callers of the string output, see {@link GameResult#format()}. */
+  public String play(final String[] strArrBlackHand, final String[] strArrWhiteHand) {
+    return evaluate(strArrBlackHand, strArrWhiteHand).format();
   }
 
-  protected String formatAndPrintWinner() {
-    if (null != playerWhoWon)
-      return String.format("PLAYER [%s] WINS! REASON = %s", playerWhoWon, this.winningCondition);
+  public GameResult evaluate(final String[] strArrBlackHand, final String[] strArrWhiteHand) {
+    PokerUtils.validateCardsInput(strArrBlackHand, strArrWhiteHand);
+
+    return evaluate(Hand.newHand(strArrBlackHand), Hand.newHand(strArrWhiteHand));
+  }
 
-    return "TIE";
+  /**
+   * PokerGame keeps no state, so one instance can evaluate any number of games, from any number of
+   * threads.
+   */
+  public GameResult evaluate(final Hand blackHand, final Hand whiteHand) {
+    // the strengths encode rank and kickers, so this single comparison decides the game. The
+    // methods below only work out the reason to report for the winner
+    final int comparison = blackHand.compareTo(whiteHand);
+    tracer.strengthsCompared(blackHand, whiteHand, comparison);
+
+    if (comparison == 0)
+      return GameResult.tie(blackHand.getHighestRank(), whiteHand.getHighestRank());
+
+    final Player winner = comparison > 0 ? Player.BLACK : Player.WHITE;
+
+    if (!doPlayersHaveMatchingRanks(blackHand, whiteHand))
+      return GameResult.win(
+          winner,
+          blackHand.getHighestRank(),
+          whiteHand.getHighestRank(),
+          null,
+          null,
+          explainWinBasedOnRank(blackHand.getHighestRank(), whiteHand.getHighestRank()));
+
+    final Rank matchingRank = blackHand.getHighestRank();
+    final WinningCondition winningCondition;
+    if (RANK_VALUES_THAT_USE_HIGH_CARD_TO_DETERMINE_WINNER.contains(matchingRank))
+      winningCondition = explainWinBasedOnHighCardHandComparison(blackHand, whiteHand);
+    else if (matchingRank == FOUR_OF_A_KIND)
+      winningCondition = handleMatchingCards(blackHand, whiteHand, 4);
+    else if (matchingRank == FULL_HOUSE || matchingRank == THREE_OF_A_KIND)
+      winningCondition = handleMatchingCards(blackHand, whiteHand, 3);
+    else if (matchingRank == TWO_PAIRS) winningCondition = handleTwoPairs(blackHand, whiteHand);
+    else winningCondition = handlePairs(blackHand, whiteHand);
+
+    final int decidingCard =
+        indexOfFirstDifferentValue(blackHand.getRankedCards(), whiteHand.getRankedCards());
+    return GameResult.win(
+        winner,
+        matchingRank,
+        matchingRank,
+        blackHand.getRankedCards().get(decidingCard),
+        whiteHand.getRankedCards().get(decidingCard),
+        winningCondition);
   }
 
   /**
@@ -82,31 +99,35 @@ public class PokerGame {
    * the value of the cards forming the pair. If these values are the same, the hands are ranked by
    * the values of the cards not forming the pair, in decreasing order.
    *
-   * <p>"...in decreasing order" is a bit ambiguous as my interpretation of it is either: 1. check
-   * the next highest cards and compare those until one card is greater or, 2. get the total value
-   * of the remaining cards and compare those
-   *
-   * <p>I have implemented the latter method.
+   * <p>The winner is decided by {@link Hand#compareTo(Hand)}, which checks the remaining cards one
+   * by one. The reason still reports the total value of the remaining cards, unless the totals do
+   * not agree with the winner (e.g. K-4-3 beats Q-J-5), in which case the deciding card is reported
+   * instead.
    */
-  protected void handlePairs(final Hand blackHand, final Hand whiteHand) {
-    final List<Card> blackHandPair = blackHand.getPairCards();
-    final List<Card> whiteHandPair = whiteHand.getPairCards();
+  protected WinningCondition handlePairs(final Hand blackHand, final Hand whiteHand) {
+    final List<Card> blackHandCards = blackHand.getRankedCards();
+    final List<Card> whiteHandCards = whiteHand.getRankedCards();
 
-    int blackHandPairValue = this.getTotalValueFromCollection(blackHandPair);
-    int whiteHandPairValue = this.getTotalValueFromCollection(whiteHandPair);
+    int blackHandPairValue = 2 * blackHandCards.get(0).getValueAsInt();
+    int whiteHandPairValue = 2 * whiteHandCards.get(0).getValueAsInt();
 
     if (blackHandPairValue == whiteHandPairValue) {
-      final List<Card> blackHandOtherThreeCards = new ArrayList<>(blackHand.getCards());
-      blackHandOtherThreeCards.removeAll(blackHandPair);
-
-      final List<Card> whiteHandOtherThreeCards = new ArrayList<>(whiteHand.getCards());
-      whiteHandOtherThreeCards.removeAll(whiteHandPair);
-
-      blackHandPairValue = this.getTotalValueFromCollection(blackHandOtherThreeCards);
-      whiteHandPairValue = this.getTotalValueFromCollection(whiteHandOtherThreeCards);
+      blackHandPairValue = this.getTotalValueOfRemainingCards(blackHandCards, 2);
+      whiteHandPairValue = this.getTotalValueOfRemainingCards(whiteHandCards, 2);
+
+      final boolean doesBlackWin = blackHand.compareTo(whiteHand) > 0;
+      final boolean doTotalsAgreeWithWinner =
+          doesBlackWin
+              ? blackHandPairValue > whiteHandPairValue
+              : whiteHandPairValue > blackHandPairValue;
+      if (!doTotalsAgreeWithWinner) {
+        final int decidingCard = this.indexOfFirstDifferentValue(blackHandCards, whiteHandCards);
+        return explainWinBasedOnHighCards(
+            blackHandCards.get(decidingCard), whiteHandCards.get(decidingCard));
+      }
     }
 
-    setWinnerBasedOnValues(
+    return explainWinBasedOnValues(
         blackHand.getHighestRank(),
         blackHandPairValue,
         whiteHand.getHighestRank(),
@@ -118,111 +139,78 @@ public class PokerGame {
    * of their highest pair. Hands with the same highest pair are ranked by the value of their other
    * pair. If these values are the same the hands are ranked by the value of the remaining card.
    *
-   * <p>Note: Cards are sorted based on value when instantiated
+   * <p>Note: ranked cards are ordered highest pair, other pair, remaining card
    */
-  protected void handleTwoPairs(final Hand blackHand, final Hand whiteHand) {
-    final List<List<Card>> blackHandTwoPairsList = blackHand.getTwoPairsCards();
-    int blackHandValue = this.getTotalValueFromCollection(blackHandTwoPairsList.get(1));
+  protected WinningCondition handleTwoPairs(final Hand blackHand, final Hand whiteHand) {
+    final List<Card> blackHandCards = blackHand.getRankedCards();
+    final List<Card> whiteHandCards = whiteHand.getRankedCards();
 
-    final List<List<Card>> whiteHandTwoPairsList = whiteHand.getTwoPairsCards();
-    int whiteHandValue = this.getTotalValueFromCollection(whiteHandTwoPairsList.get(1));
+    int blackHandValue = 2 * blackHandCards.get(0).getValueAsInt();
+    int whiteHandValue = 2 * whiteHandCards.get(0).getValueAsInt();
 
     // if highest pairs match, get the other pair
     if (blackHandValue == whiteHandValue) {
-      blackHandValue = this.getTotalValueFromCollection(blackHandTwoPairsList.get(0));
-      whiteHandValue = this.getTotalValueFromCollection(whiteHandTwoPairsList.get(0));
+      blackHandValue = 2 * blackHandCards.get(2).getValueAsInt();
+      whiteHandValue = 2 * whiteHandCards.get(2).getValueAsInt();
 
       // if the other pairs match, get the value of the last remaining card
-      if (blackHandValue == whiteHandValue) {
-        setWinnerBasedOnHighCards(
-            blackHand.getCardsForExpectedSize(1).get(0),
-            whiteHand.getCardsForExpectedSize(1).get(0));
-      }
+      if (blackHandValue == whiteHandValue)
+        return explainWinBasedOnHighCards(blackHandCards.get(4), whiteHandCards.get(4));
     }
 
-    // in the event the last card is checked, playerWhoWon will not be null
-    if (null == playerWhoWon)
-      setWinnerBasedOnValues(
-          blackHand.getHighestRank(), blackHandValue, whiteHand.getHighestRank(), whiteHandValue);
+    return explainWinBasedOnValues(
+        blackHand.getHighestRank(), blackHandValue, whiteHand.getHighestRank(), whiteHandValue);
   }
 
   /**
-   * todo: I feel like there should be a cleaner way to implement setting the winning condition and
-   * the playerWhoWon, but I'm not seeing it right now. The method could also return the winner, not
-   * sure if a good idea however
+   * Four of a kind, full house and three of a kind are ranked by the value of the 4 or 3 matching
+   * cards, reported as their total value.
    */
-  protected void setWinnerBasedOnValues(
+  protected WinningCondition handleMatchingCards(
+      final Hand blackHand, final Hand whiteHand, final int numberOfMatchingCards) {
+    return explainWinBasedOnValues(
+        blackHand.getHighestRank(),
+        numberOfMatchingCards * blackHand.getRankedCards().get(0).getValueAsInt(),
+        whiteHand.getHighestRank(),
+        numberOfMatchingCards * whiteHand.getRankedCards().get(0).getValueAsInt());
+  }
+
+  /** The greater value wins; values never match here as the strengths already broke ties. */
+  protected WinningCondition explainWinBasedOnValues(
       final Rank blackRank,
       final int blackHandValue,
       final Rank whiteRank,
       final int whiteHandValue) {
-    System.out.printf(
-        "Black hand value [%s] White hand value [%s]%n", blackHandValue, whiteHandValue);
-    boolean doesBlackWin = blackHandValue > whiteHandValue;
-    boolean doJustCompareRanks = blackHandValue == -1 && whiteHandValue == -1;
-    String winMsg = "";
-    // todo: there HAS to be a better way to do this...
-    if (doJustCompareRanks) {
-      if (blackRank.compareTo(whiteRank) > 0) {
-        doesBlackWin = true;
-        winMsg = String.format("[%s] over [%s]", blackRank, whiteRank);
-      } else winMsg = String.format("[%s] over [%s]", whiteRank, blackRank);
-    } else {
-      if (doesBlackWin)
-        winMsg =
-            String.format(
-                "[%s] value of [%s] over [%s] value of [%s]",
-                blackRank, blackHandValue, whiteRank, whiteHandValue);
-      else
-        winMsg =
-            String.format(
-                "[%s] value of [%s] over [%s] value of [%s]",
-                whiteRank, whiteHandValue, blackRank, blackHandValue);
-    }
-
-    setWinnerFromBooleanWithWinCondition(doesBlackWin, winMsg);
+    tracer.handValuesCompared(blackHandValue, whiteHandValue);
+    if (blackHandValue > whiteHandValue)
+      return WinningCondition.values(
+          Player.BLACK, blackRank, blackHandValue, whiteRank, whiteHandValue);
+    return WinningCondition.values(
+        Player.WHITE, whiteRank, whiteHandValue, blackRank, blackHandValue);
   }
 
-  protected void setWinnerBasedOnRank(final Rank blackHandRank, final Rank whiteHandRank) {
-    setWinnerBasedOnValues(blackHandRank, -1, whiteHandRank, -1);
+  protected WinningCondition explainWinBasedOnRank(
+      final Rank blackHandRank, final Rank whiteHandRank) {
+    if (blackHandRank.compareTo(whiteHandRank) > 0)
+      return WinningCondition.rank(Player.BLACK, blackHandRank, whiteHandRank);
+    return WinningCondition.rank(Player.WHITE, whiteHandRank, blackHandRank);
   }
 
-  protected void setWinnerBasedOnHighCards(final Card blackHighCard, final Card whiteHighCard) {
-    boolean doesBlackWin = blackHighCard.compareTo(whiteHighCard) > 0;
-    String winMsg = "";
-    if (blackHighCard.compareTo(whiteHighCard) > 0) {
-      winMsg = String.format("BLACK wins with %s over %s", blackHighCard, whiteHighCard);
-    } else {
-      winMsg = String.format("WHITE wins with %s over %s", whiteHighCard, blackHighCard);
-    }
-    setWinnerFromBooleanWithWinCondition(doesBlackWin, winMsg);
+  /** Only reached once the ranks and the values of the matching cards are the same. */
+  protected WinningCondition explainWinBasedOnHighCards(
+      final Card blackHighCard, final Card whiteHighCard) {
+    if (blackHighCard.compareTo(whiteHighCard) > 0)
+      return WinningCondition.highCards(Player.BLACK, blackHighCard, whiteHighCard);
+    return WinningCondition.highCards(Player.WHITE, whiteHighCard, blackHighCard);
   }
 
-  protected void setWinnerBasedOnHighCardHandComparison(
+  protected WinningCondition explainWinBasedOnHighCardHandComparison(
       final Hand blackHand, final Hand whiteHand) {
     final Card winningCard = compareAndGetHighCardFromHands(blackHand, whiteHand);
-    if (null != winningCard) {
-      setWinnerFromBooleanWithWinCondition(
-          blackHand.getCards().contains(winningCard),
-          "HIGH CARD: " + "[" + winningCard.getFullNameFromValue() + "]");
-    }
-  }
-
-  protected void setWinnerFromBooleanWithWinCondition(
-      final boolean doesBlackWin, final String winningCondition) {
-    if (doesBlackWin) playerWhoWon = "BLACK";
-    else playerWhoWon = "WHITE";
-    this.winningCondition = winningCondition;
-  }
-
-  protected void determineAndSetWinnerBasedOnCardsValues(
-      final Rank blackRank,
-      final Collection<Card> blackCards,
-      final Rank whiteRank,
-      final Collection<Card> whiteCards) {
-    final int blackValueOfThree = this.getTotalValueFromCollection(blackCards);
-    final int whiteValueOfThree = this.getTotalValueFromCollection(whiteCards);
-    setWinnerBasedOnValues(blackRank, blackValueOfThree, whiteRank, whiteValueOfThree);
+    return WinningCondition.highCard(
+        blackHand.compareTo(whiteHand) > 0 ? Player.BLACK : Player.WHITE,
+        blackHand.getHighestRank(),
+        winningCard);
   }
 
   public boolean doPlayersHaveMatchingRanks(final Hand blackHand, final Hand whiteHand) {
@@ -233,47 +221,38 @@ public class PokerGame {
    * Hands which do not fit any higher category are ranked by the value of their highest card.
    *
    * <p>If the highest cards have the same value, the hands are ranked by the next highest, and so
-   * on.
+   * on. The ranked cards of a hand without matching values are already in decreasing order, so
+   * both hands are walked side by side in place, allocating nothing.
+   *
+   * @return the first card, highest first, that beats the card of the other hand at the same
+   *     position, or null if every value matches
    */
   public Card compareAndGetHighCardFromHands(final Hand blackHand, final Hand whiteHand) {
-    final Collection<Card> blackHandCardList = blackHand.getCards();
-    final Collection<Card> whiteHandCardList = whiteHand.getCards();
-
-    Card whiteHighCard = whiteHand.getHighCard();
-    Card blackHighCard = blackHand.getHighCard();
-
-    Card winningHighCard = null;
-
-    for (int i = 1; i <= 5; i++) {
-      int compareValue = blackHighCard.compareTo(whiteHighCard);
-      System.out.printf(
-          "--> Black high card [%s] White high card [%s] Compare Value [%s]%n",
-          blackHighCard.getFullNameFromValue(), whiteHighCard.getFullNameFromValue(), compareValue);
-      if (compareValue != 0) {
-        if (compareValue > 0) winningHighCard = blackHighCard;
-        else winningHighCard = whiteHighCard;
-        break;
-      } else {
-        blackHighCard = this.getNextHighestCard(blackHighCard, blackHandCardList);
-        whiteHighCard = this.getNextHighestCard(whiteHighCard, whiteHandCardList);
-      }
+    final List<Card> blackCards = blackHand.getRankedCards();
+    final List<Card> whiteCards = whiteHand.getRankedCards();
+
+    for (int i = 0; i < blackCards.size(); i++) {
+      final Card blackHighCard = blackCards.get(i);
+      final Card whiteHighCard = whiteCards.get(i);
+      final int compareValue = blackHighCard.compareTo(whiteHighCard);
+      tracer.highCardsCompared(blackHighCard, whiteHighCard, compareValue);
+      if (compareValue != 0) return compareValue > 0 ? blackHighCard : whiteHighCard;
     }
-
-    return winningHighCard;
-  }
-
-  protected Card getHighCardFromCollection(final Collection<Card> cards) {
-    return cards.stream().max(Card.COMPARE_CARD_VALUES).orElse(new Card("1", "D"));
+    return null;
   }
 
-  // todo: I feel like I call this method a lot unnecessarily. Not seeing a better option however
-  protected int getTotalValueFromCollection(final Collection<Card> cards) {
-    return cards.stream().mapToInt(Card::getValueAsInt).sum();
+  protected int getTotalValueOfRemainingCards(final List<Card> rankedCards, final int fromIndex) {
+    int total = 0;
+    for (int i = fromIndex; i < rankedCards.size(); i++)
+      total += rankedCards.get(i).getValueAsInt();
+    return total;
   }
 
-  protected Card getNextHighestCard(final Card currentHighCard, final Collection<Card> cards) {
-    final Collection<Card> copiedCards = new ArrayList<>(cards);
-    copiedCards.remove(currentHighCard);
-    return this.getHighCardFromCollection(copiedCards);
+  protected int indexOfFirstDifferentValue(
+      final List<Card> blackRankedCards, final List<Card> whiteRankedCards) {
+    int i = 0;
+    while (i < blackRankedCards.size() - 1
+        && blackRankedCards.get(i).compareTo(whiteRankedCards.get(i)) == 0) i++;
+    return i;
   }
 }
@@ -2,14 +2,42 @@ package com.cas;
 
 public class PokerUtils {
 
+  /** Checks that no card of Black's hand is also in White's hand. */
   public static void validateCardsInput(
       final String[] strArrBlackHand, final String[] strArrWhiteHand) {
-    for (String strBlackCard : strArrBlackHand) {
-      for (String strWhiteCard : strArrWhiteHand) {
-        if (strBlackCard.equals(strWhiteCard))
-          throw new RuntimeException(
-              String.format("Card [%s] exists in both hands!", strBlackCard));
+    final String sharedCard = findCardInMoreThanOneHand(strArrBlackHand, strArrWhiteHand);
+    if (sharedCard != null)
+      throw new RuntimeException(String.format("Card [%s] exists in both hands!", sharedCard));
+  }
+
+  /** Checks that no card appears in more than one of the hands. */
+  public static void validateHands(final String[]... hands) {
+    final String sharedCard = findCardInMoreThanOneHand(hands);
+    if (sharedCard != null)
+      throw new RuntimeException(
+          String.format("Card [%s] exists in more than one hand!", sharedCard));
+  }
+
+  /**
+   * Walks every card once, keeping the cards of the hands already seen in a mask (see {@link
+   * PackedCards}). Cards that cannot be parsed, or that repeat within a hand, are left for {@link
+   * Hand#newHand(String[])} to report.
+   *
+   * @return the first card found in an earlier hand, as written in the later one, or null
+   */
+  private static String findCardInMoreThanOneHand(final String[]... hands) {
+    long cardsInEarlierHands = 0;
+    for (String[] hand : hands) {
+      if (hand == null) continue;
+      long cardsInHand = 0;
+      for (String card : hand) {
+        final int code = Card.codeOf(card);
+        if (code < 0) continue;
+        if ((cardsInEarlierHands & PackedCards.maskOf(code)) != 0) return card;
+        cardsInHand |= PackedCards.maskOf(code);
       }
+      cardsInEarlierHands |= cardsInHand;
     }
+    return null;
   }
 }
@@ -0,0 +1,34 @@
+package com.cas;
+
+import java.io.PrintStream;
+
+/** Prints every comparison step, for debugging. See {@link GameTracer#STDOUT}. */
+public class PrintStreamGameTracer implements GameTracer {
+
+  private final PrintStream out;
+
+  public PrintStreamGameTracer(final PrintStream out) {
+    this.out = out;
+  }
+
+  @Override
+  public void strengthsCompared(
+      final Hand blackHand, final Hand whiteHand, final int compareValue) {
+    out.printf(
+        "Black strength [%s] White strength [%s] Compare Value [%s]%n",
+        blackHand.getStrength(), whiteHand.getStrength(), compareValue);
+  }
+
+  @Override
+  public void handValuesCompared(final int blackHandValue, final int whiteHandValue) {
+    out.printf("Black hand value [%s] White hand value [%s]%n", blackHandValue, whiteHandValue);
+  }
+
+  @Override
+  public void highCardsCompared(
+      final Card blackHighCard, final Card whiteHighCard, final int compareValue) {
+    out.printf(
+        "--> Black high card [%s] White high card [%s] Compare Value [%s]%n",
+        blackHighCard.getFullNameFromValue(), whiteHighCard.getFullNameFromValue(), compareValue);
+  }
+}
@@ -0,0 +1,288 @@
+package com.cas;
+
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.util.Collection;
+
+/**
+ * Evaluates the best five card hand out of five, six or seven cards, e.g. a Texas Hold'em player's
+ * two hole cards and the five board cards, in a single pass.
+ *
+ * <p>Strengths are the ones of {@link HandEvaluator}: the strength of the best five cards, so
+ * hands of any size compare directly and {@link #rankOf(int)} gives the usual {@link Rank}. A hand
+ * is resolved with at most five lookups:
+ *
+ * <ul>
+ *   <li>five or more cards of one suit: with seven cards nothing else can beat the flush, so the
+ *       values of that suit are looked up in {@code FLUSHES}, the best flush or straight flush of
+ *       every value mask
+ *   <li>anything else: suits no longer matter, only how many cards of each value there are. The
+ *       counts are summed as a base 5 number, one lookup per suit, and looked up in an open
+ *       addressing table built from every multiset of values
+ * </ul>
+ *
+ * <p>Building the tables takes a noticeable part of a short run; {@link EvaluationTables} can load
+ * them from a file instead.
+ *
+ * <p>{@link #bestFive(long)} recovers which five cards make the hand.
+ */
+public final class SevenCardEvaluator {
+
+  public static final int MIN_CARDS = 5;
+  public static final int MAX_CARDS = 7;
+
+  private static final int NUMBER_OF_VALUES = 13;
+  private static final int NUMBER_OF_SUITS = 4;
+
+  /** Best flush or straight flush among the values of one suit, 0 below five values. */
+  private static final short[] FLUSHES = new short[1 << NUMBER_OF_VALUES];
+
+  /** Sum of 5^value over the values of a 13 bit value mask. */
+  private static final int[] COUNT_KEYS = new int[1 << NUMBER_OF_VALUES];
+
+  private static final int COUNTS_TABLE_BITS = 18;
+  private static final int COUNTS_TABLE_MASK = (1 << COUNTS_TABLE_BITS) - 1;
+
+  /** Read in place from the mapped file of {@link EvaluationTables} when one is configured. */
+  private static final IntBuffer COUNTS_KEYS;
+
+  private static final ShortBuffer COUNTS_STRENGTHS;
+
+  static {
+    buildCountKeys();
+    final EvaluationTables tables = EvaluationTables.configured();
+    if (tables == null) {
+      buildFlushes();
+      final int[] countsKeys = new int[1 << COUNTS_TABLE_BITS];
+      final short[] countsStrengths = new short[1 << COUNTS_TABLE_BITS];
+      buildCounts(countsKeys, countsStrengths);
+      COUNTS_KEYS = IntBuffer.wrap(countsKeys);
+      COUNTS_STRENGTHS = ShortBuffer.wrap(countsStrengths);
+    } else {
+      tables.shorts(EvaluationTables.Section.SEVEN_CARD_FLUSHES).get(FLUSHES);
+      COUNTS_KEYS = tables.ints(EvaluationTables.Section.SEVEN_CARD_COUNTS_KEYS);
+      COUNTS_STRENGTHS = tables.shorts(EvaluationTables.Section.SEVEN_CARD_COUNTS_STRENGTHS);
+    }
+  }
+
+  private SevenCardEvaluator() {}
+
+  /**
+   * Evaluates a hand of five to seven cards packed by {@link PackedCards}.
+   *
+   * @return the strength of the best five cards, or 0 if the mask does not hold five to seven cards
+   */
+  public static int evaluate(final long hand) {
+    final int size = Long.bitCount(hand);
+    if (size < MIN_CARDS || size > MAX_CARDS || (hand & ~PackedCards.DECK_MASK) != 0) return 0;
+
+    final int clubs = PackedCards.suitMask(hand, 0);
+    final int diamonds = PackedCards.suitMask(hand, 1);
+    final int hearts = PackedCards.suitMask(hand, 2);
+    final int spades = PackedCards.suitMask(hand, 3);
+
+    if (Integer.bitCount(clubs) >= MIN_CARDS) return FLUSHES[clubs];
+    if (Integer.bitCount(diamonds) >= MIN_CARDS) return FLUSHES[diamonds];
+    if (Integer.bitCount(hearts) >= MIN_CARDS) return FLUSHES[hearts];
+    if (Integer.bitCount(spades) >= MIN_CARDS) return FLUSHES[spades];
+
+    return lookupCounts(
+        COUNT_KEYS[clubs] + COUNT_KEYS[diamonds] + COUNT_KEYS[hearts] + COUNT_KEYS[spades]);
+  }
+
+  /**
+   * Evaluates seven card codes, see {@link Card#getCode()}.
+   *
+   * @return the strength of the best five cards, or 0 if the same card appears twice
+   */
+  public static int evaluate(
+      final int card1,
+      final int card2,
+      final int card3,
+      final int card4,
+      final int card5,
+      final int card6,
+      final int card7) {
+    final long hand =
+        PackedCards.maskOf(card1)
+            | PackedCards.maskOf(card2)
+            | PackedCards.maskOf(card3)
+            | PackedCards.maskOf(card4)
+            | PackedCards.maskOf(card5)
+            | PackedCards.maskOf(card6)
+            | PackedCards.maskOf(card7);
+    return Long.bitCount(hand) == MAX_CARDS ? evaluate(hand) : 0;
+  }
+
+  public static int evaluate(final Collection<Card> cards) {
+    if (cards.size() < MIN_CARDS || cards.size() > MAX_CARDS)
+      throw new RuntimeException(
+          String.format("Unable to evaluate a hand of [%s] cards!", cards.size()));
+
+    final long hand = PackedCards.toMask(cards);
+    if (Long.bitCount(hand) != cards.size())
+      throw new RuntimeException(
+          String.format("Unable to evaluate a hand holding the same card twice [%s]!", cards));
+    return evaluate(hand);
+  }
+
+  public static Rank rankOf(final int strength) {
+    return HandEvaluator.rankOf(strength);
+  }
+
+  /**
+   * The five cards that make the best hand, found by evaluating each five card subset until one
+   * matches. Meant for reporting; {@link #evaluate(long)} alone is enough to compare hands.
+   */
+  public static long bestFive(final long hand) {
+    final int strength = evaluate(hand);
+    if (strength == 0)
+      throw new RuntimeException(
+          String.format("Unable to evaluate hand [%s]!", PackedCards.toText(hand)));
+
+    for (long five : fiveCardSubsets(hand, Long.bitCount(hand)))
+      if (HandEvaluator.evaluate(five) == strength) return five;
+    throw new IllegalStateException(
+        String.format("No five cards of hand [%s] match its strength", Long.toHexString(hand)));
+  }
+
+  /** Best flush or straight flush of a suit holding the values of the mask, 0 below five. */
+  static int flushStrength(final int valueMask) {
+    return FLUSHES[valueMask];
+  }
+
+  /** Base 5 count key of a single card of the value, summed over cards to form a counts key. */
+  static int countKey(final int valueIndex) {
+    return COUNT_KEYS[1 << valueIndex];
+  }
+
+  /**
+   * Strength of five to seven cards, ignoring flushes, from the sum of their count keys.
+   *
+   * @return 0 if the key does not hold five to seven cards with at most four of a value
+   */
+  static int countsStrength(final int countsKey) {
+    return lookupCounts(countsKey);
+  }
+
+  private static int lookupCounts(final int key) {
+    int slot = hashSlot(key);
+    int slotKey;
+    while ((slotKey = COUNTS_KEYS.get(slot)) != 0) {
+      if (slotKey == key) return COUNTS_STRENGTHS.get(slot);
+      slot = (slot + 1) & COUNTS_TABLE_MASK;
+    }
+    return 0;
+  }
+
+  private static int hashSlot(final int key) {
+    return (key * 0x9E3779B1) >>> (32 - COUNTS_TABLE_BITS);
+  }
+
+  static void saveTables(final EvaluationTables tables) {
+    tables.shorts(EvaluationTables.Section.SEVEN_CARD_FLUSHES).put(FLUSHES);
+    tables.ints(EvaluationTables.Section.SEVEN_CARD_COUNTS_KEYS).put(COUNTS_KEYS.duplicate());
+    tables
+        .shorts(EvaluationTables.Section.SEVEN_CARD_COUNTS_STRENGTHS)
+        .put(COUNTS_STRENGTHS.duplicate());
+  }
+
+  private static void buildCountKeys() {
+    int power = 1;
+    final int[] powersOfFive = new int[NUMBER_OF_VALUES];
+    for (int value = 0; value < NUMBER_OF_VALUES; value++, power *= 5)
+      powersOfFive[value] = power;
+    for (int mask = 1; mask < COUNT_KEYS.length; mask++)
+      COUNT_KEYS[mask] =
+          powersOfFive[Integer.numberOfTrailingZeros(mask)] + COUNT_KEYS[mask & (mask - 1)];
+  }
+
+  /**
+   * Five value masks are evaluated as clubs; larger masks take the best of the masks with one value
+   * less, which are all filled first as they have fewer bits.
+   */
+  private static void buildFlushes() {
+    for (int bits = MIN_CARDS; bits <= NUMBER_OF_VALUES; bits++)
+      for (int mask = 0; mask < FLUSHES.length; mask++) {
+        if (Integer.bitCount(mask) != bits) continue;
+        if (bits == MIN_CARDS) {
+          FLUSHES[mask] = (short) HandEvaluator.evaluate((long) mask);
+          continue;
+        }
+        short best = 0;
+        for (int remaining = mask; remaining != 0; remaining &= remaining - 1)
+          best = (short) Math.max(best, FLUSHES[mask & ~Integer.lowestOneBit(remaining)]);
+        FLUSHES[mask] = best;
+      }
+  }
+
+  /**
+   * Walks every multiset of five to seven values, with no value more than four times, and stores
+   * the strength of its best five cards, suited so that they never form a flush.
+   */
+  private static void buildCounts(final int[] countsKeys, final short[] countsStrengths) {
+    buildCounts(new int[NUMBER_OF_VALUES], 0, 0, countsKeys, countsStrengths);
+  }
+
+  private static void buildCounts(
+      final int[] counts,
+      final int value,
+      final int size,
+      final int[] countsKeys,
+      final short[] countsStrengths) {
+    if (value == NUMBER_OF_VALUES) {
+      if (size >= MIN_CARDS) insertCounts(counts, size, countsKeys, countsStrengths);
+      return;
+    }
+    for (int count = 0; count <= NUMBER_OF_SUITS && size + count <= MAX_CARDS; count++) {
+      counts[value] = count;
+      buildCounts(counts, value + 1, size + count, countsKeys, countsStrengths);
+    }
+    counts[value] = 0;
+  }
+
+  private static void insertCounts(
+      final int[] counts, final int size, final int[] countsKeys, final short[] countsStrengths) {
+    // the n-th card of a value takes the n-th suit, so no two cards collide and the hand has at
+    // most as many cards of one suit as it has distinct values
+    long hand = 0;
+    int key = 0;
+    for (int value = 0; value < NUMBER_OF_VALUES; value++) {
+      for (int suit = 0; suit < counts[value]; suit++)
+        hand |= PackedCards.maskOf(PackedCards.code(value, suit));
+      key += counts[value] * COUNT_KEYS[1 << value];
+    }
+
+    int best = 0;
+    for (long five : fiveCardSubsets(hand, size)) best = Math.max(best, nonFlushStrength(five));
+
+    int slot = hashSlot(key);
+    while (countsKeys[slot] != 0) slot = (slot + 1) & COUNTS_TABLE_MASK;
+    countsKeys[slot] = key;
+    countsStrengths[slot] = (short) best;
+  }
+
+  /** Strength of five cards as if their suits did not all match. */
+  private static int nonFlushStrength(final long five) {
+    final int clubs = PackedCards.suitMask(five, 0);
+    if (Integer.bitCount(clubs) < MIN_CARDS) return HandEvaluator.evaluate(five);
+    // five distinct values all on clubs: move the lowest to diamonds, which it cannot collide with
+    final long lowest = Long.lowestOneBit(five);
+    return HandEvaluator.evaluate(five & ~lowest | lowest << 16);
+  }
+
+  private static long[] fiveCardSubsets(final long hand, final int size) {
+    final int[] codes = new int[size];
+    PackedCards.toCodes(hand, codes);
+    final long[] subsets = new long[HandEnumerator.binomial(size, MIN_CARDS)];
+    int count = 0;
+    for (int drop = 0; drop < 1 << size; drop++) {
+      if (Integer.bitCount(drop) != size - MIN_CARDS) continue;
+      long five = 0;
+      for (int i = 0; i < size; i++)
+        if ((drop & 1 << i) == 0) five |= PackedCards.maskOf(codes[i]);
+      subsets[count++] = five;
+    }
+    return subsets;
+  }
+}
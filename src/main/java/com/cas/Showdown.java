@@ -0,0 +1,148 @@
+package com.cas;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the hands of any number of players at once, from 2 up to the 10 five card hands a deck
+ * can deal. Each hand is evaluated once and players are seated in the order their hands are given,
+ * starting at seat 0.
+ *
+ * <p>Players whose hands have the same strength share a place and split the pot of that place.
+ */
+public final class Showdown {
+
+  public static final int MIN_HANDS = 2;
+  public static final int MAX_HANDS = PackedCards.NUMBER_OF_CARDS / CardParser.CARDS_PER_HAND;
+
+  @Value
+  @AllArgsConstructor(access = AccessLevel.PRIVATE)
+  public static class Result {
+    /** Strength of each seat's hand, see {@link HandEvaluator}. Only handed out as a copy. */
+    @Getter(AccessLevel.NONE)
+    int[] strengths;
+
+    /** Seats grouped by strength, strongest group first, each group in seat order. */
+    List<List<Integer>> ranking;
+
+    /** The seats that share the pot. */
+    public List<Integer> getWinners() {
+      return ranking.get(0);
+    }
+
+    public boolean isSplitPot() {
+      return getWinners().size() > 1;
+    }
+
+    /** Strength of the hand at seat, see {@link HandEvaluator}. */
+    public int getStrength(final int seat) {
+      return strengths[seat];
+    }
+
+    /** @return a copy of the strength of each seat's hand */
+    public int[] getStrengths() {
+      return strengths.clone();
+    }
+
+    public Rank getRank(final int seat) {
+      return HandEvaluator.rankOf(strengths[seat]);
+    }
+
+    /** 1 for the winners, 2 for the seats right behind them, and so on. */
+    public int getPlace(final int seat) {
+      for (int place = 0; place < ranking.size(); place++)
+        if (ranking.get(place).contains(seat)) return place + 1;
+      throw new RuntimeException(String.format("No player sits at seat [%s]!", seat));
+    }
+  }
+
+  private Showdown() {}
+
+  /** Hands as card strings, e.g. {"2H", "3D", "5S", "9C", "KD"}, one array per seat. */
+  public static Result evaluate(final String[]... hands) {
+    validateNumberOfHands(hands.length);
+    PokerUtils.validateHands(hands);
+
+    final int[] strengths = new int[hands.length];
+    for (int seat = 0; seat < hands.length; seat++)
+      strengths[seat] = Hand.newHand(hands[seat]).getStrength();
+    return rank(strengths);
+  }
+
+  public static Result evaluate(final List<Hand> hands) {
+    validateNumberOfHands(hands.size());
+
+    long cardsSeen = 0;
+    final int[] strengths = new int[hands.size()];
+    for (int seat = 0; seat < strengths.length; seat++) {
+      final long hand = PackedCards.toMask(hands.get(seat));
+      validateNotSeen(cardsSeen, hand);
+      cardsSeen |= hand;
+      strengths[seat] = hands.get(seat).getStrength();
+    }
+    return rank(strengths);
+  }
+
+  /** Hands packed by {@link PackedCards}, one mask per seat. */
+  public static Result evaluate(final long[] hands) {
+    validateNumberOfHands(hands.length);
+
+    long cardsSeen = 0;
+    final int[] strengths = new int[hands.length];
+    for (int seat = 0; seat < hands.length; seat++) {
+      strengths[seat] = HandEvaluator.strengthOf(hands[seat]);
+      validateNotSeen(cardsSeen, hands[seat]);
+      cardsSeen |= hands[seat];
+    }
+    return rank(strengths);
+  }
+
+  private static void validateNumberOfHands(final int numberOfHands) {
+    validateNumberOfHands(numberOfHands, MAX_HANDS);
+  }
+
+  static void validateNumberOfHands(final int numberOfHands, final int maxHands) {
+    if (numberOfHands < MIN_HANDS || numberOfHands > maxHands)
+      throw new RuntimeException(
+          String.format(
+              "A showdown needs between [%s] and [%s] hands but got [%s]!",
+              MIN_HANDS, maxHands, numberOfHands));
+  }
+
+  static void validateNotSeen(final long cardsSeen, final long hand) {
+    final long shared = cardsSeen & hand;
+    if (shared != 0)
+      throw new RuntimeException(
+          String.format(
+              "Card [%s] exists in more than one hand!",
+              PackedCards.toCard(PackedCards.lowestCode(shared)).getText()));
+  }
+
+  /** Ranks the seats by the strength of their hands, strongest first. */
+  static Result rank(final int[] strengths) {
+    // at most ten seats: an insertion sort, strongest first, keeps equal seats in seat order
+    final int[] seats = new int[strengths.length];
+    for (int i = 0; i < seats.length; i++) {
+      int j = i;
+      while (j > 0 && strengths[seats[j - 1]] < strengths[i]) {
+        seats[j] = seats[j - 1];
+        j--;
+      }
+      seats[j] = i;
+    }
+
+    final List<List<Integer>> ranking = new ArrayList<>();
+    for (int from = 0, to = 1; from < seats.length; from = to++) {
+      while (to < seats.length && strengths[seats[to]] == strengths[seats[from]]) to++;
+      final List<Integer> place = new ArrayList<>(to - from);
+      for (int i = from; i < to; i++) place.add(seats[i]);
+      ranking.add(List.copyOf(place));
+    }
+    return new Result(strengths.clone(), List.copyOf(ranking));
+  }
+}
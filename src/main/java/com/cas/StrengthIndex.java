@@ -0,0 +1,87 @@
+package com.cas;
+
+import lombok.Value;
+
+/**
+ * How strong a five card hand is compared with every other five card hand: its rank, its place
+ * among the 7,462 equivalence classes of {@link HandEvaluator} and its percentile.
+ *
+ * <p>Counts are over all 2,598,960 hands, each class weighted by the number of hands in it (e.g. 4
+ * royal flushes but 1,020 hands of each ace high no pair class), and include the hand itself among
+ * the ties. They ignore the cards the hand holds, which an actual opponent could not hold.
+ *
+ * <p>The index is built from a single enumeration of every hand the first time it is used. A
+ * lookup is then an array access and allocates nothing.
+ */
+public final class StrengthIndex {
+
+  @Value
+  public static class Entry {
+    /** See {@link HandEvaluator}, 1 for the weakest class up to 7,462. */
+    int strength;
+
+    Rank rank;
+
+    /** Hands that lose to this one. */
+    long handsBeaten;
+
+    /** Hands of the same class, this one included. */
+    long handsTied;
+
+    /** Hands that beat this one. */
+    long handsBeating;
+
+    /** Place of the class from the top, 1 for a royal flush up to 7,462. */
+    public int getClassRank() {
+      return HandEvaluator.NUMBER_OF_EQUIVALENCE_CLASSES + 1 - strength;
+    }
+
+    /**
+     * Share of all hands this one beats, counting ties as half, between 0 and 100. A mid point
+     * percentile, so that a class holding many hands is not placed at either of its ends.
+     */
+    public double getPercentile() {
+      return 100.0 * (handsBeaten + handsTied / 2.0) / HandEnumerator.NUMBER_OF_HANDS;
+    }
+  }
+
+  private StrengthIndex() {}
+
+  /** See {@link HandEvaluator}, 1 to {@link HandEvaluator#NUMBER_OF_EQUIVALENCE_CLASSES}. */
+  public static Entry ofStrength(final int strength) {
+    if (strength < 1 || strength > HandEvaluator.NUMBER_OF_EQUIVALENCE_CLASSES)
+      throw new RuntimeException(String.format("Invalid hand strength [%s]!", strength));
+    return Entries.BY_STRENGTH[strength];
+  }
+
+  public static Entry of(final Hand hand) {
+    return ofStrength(hand.getStrength());
+  }
+
+  /** A hand of five cards packed by {@link PackedCards}. */
+  public static Entry ofPacked(final long hand) {
+    return Entries.BY_STRENGTH[HandEvaluator.strengthOf(hand)];
+  }
+
+  /** Holder, so that the enumeration only runs once the index is needed. */
+  private static final class Entries {
+    static final Entry[] BY_STRENGTH = build();
+
+    private static Entry[] build() {
+      final long[] counts = HandEnumerator.countByStrength();
+      final Entry[] entries = new Entry[counts.length];
+      long beaten = 0;
+      for (int strength = 1; strength < counts.length; strength++) {
+        entries[strength] =
+            new Entry(
+                strength,
+                HandEvaluator.rankOf(strength),
+                beaten,
+                counts[strength],
+                HandEnumerator.NUMBER_OF_HANDS - beaten - counts[strength]);
+        beaten += counts[strength];
+      }
+      return entries;
+    }
+  }
+}
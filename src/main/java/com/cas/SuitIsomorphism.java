@@ -0,0 +1,144 @@
+package com.cas;
+
+import lombok.AccessLevel;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Value;
+
+import java.util.Arrays;
+
+/**
+ * Maps hands to a representative of their class under renaming of the suits.
+ *
+ * <p>Suits only matter through whether they are all the same (see {@link Hand#hasFlush()}), so
+ * renaming them, the same way in every hand involved, changes no strength and no outcome. Each
+ * class has up to 24 members, one per permutation of the four suits, and the representative is
+ * the same for all of them: every suit is described by its values in each hand (black, white then
+ * dead cards) and the suits are renumbered by that description, the smallest first.
+ *
+ * <p>A job over every hand, or every matchup, can run over the representatives alone and weigh
+ * each result by {@link Canonical#getMultiplicity()}, the number of members of its class. e.g. the
+ * 2,598,960 five card hands fall into 134,459 classes.
+ */
+public final class SuitIsomorphism {
+
+  /** Classes of five card hands under renaming of the suits. */
+  public static final int NUMBER_OF_HAND_CLASSES = 134_459;
+
+  private static final int NUMBER_OF_SUITS = 4;
+  private static final int LANE_BITS = 16;
+  private static final int VALUE_BITS = 13;
+  private static final int VALUE_MASK = (1 << VALUE_BITS) - 1;
+
+  /** 4!, the ways to rename the suits. */
+  private static final int NUMBER_OF_PERMUTATIONS = 24;
+
+  /** The representative of a hand, matchup or matchup with dead cards. */
+  @Value
+  public static class Canonical {
+    long black;
+    long white;
+    long dead;
+
+    /** Distinct hands, matchups or matchups with dead cards of the class, 1 to 24. */
+    int multiplicity;
+
+    /**
+     * The suit each suit of the given cards became, 2 bits per suit. Not part of the class: every
+     * member has its own.
+     */
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    int renaming;
+
+    /** The suit of the representative that suit of the given cards became, see {@link Suit}. */
+    public int canonicalSuit(final int suit) {
+      return renaming >>> 2 * suit & 3;
+    }
+
+    /** The suit of the given cards that became suit of the representative. */
+    public int originalSuit(final int canonicalSuit) {
+      int suit = 0;
+      while (canonicalSuit(suit) != canonicalSuit) suit++;
+      return suit;
+    }
+  }
+
+  private SuitIsomorphism() {}
+
+  /** The representative of a hand packed by {@link PackedCards}. */
+  public static long canonical(final long hand) {
+    return canonical(hand, 0, 0).getBlack();
+  }
+
+  public static Canonical canonical(final long black, final long white) {
+    return canonical(black, white, 0);
+  }
+
+  /**
+   * The representative of a matchup, all three packed by {@link PackedCards}.
+   *
+   * @param dead cards known to be out of play, e.g. folded or burnt cards
+   */
+  public static Canonical canonical(final long black, final long white, final long dead) {
+    // each description keeps the suit it came from in its low 2 bits
+    final long[] suits = new long[NUMBER_OF_SUITS];
+    for (int suit = 0; suit < NUMBER_OF_SUITS; suit++)
+      suits[suit] =
+          ((long) PackedCards.suitMask(black, suit) << 2 * VALUE_BITS
+                  | (long) PackedCards.suitMask(white, suit) << VALUE_BITS
+                  | PackedCards.suitMask(dead, suit))
+              << 2
+          | suit;
+    Arrays.sort(suits);
+
+    long canonicalBlack = 0;
+    long canonicalWhite = 0;
+    long canonicalDead = 0;
+    // suits with the same description can be renamed among themselves: n! symmetries for n suits
+    int symmetries = 1;
+    int sameAsPrevious = 1;
+    int renaming = 0;
+    for (int suit = 0; suit < NUMBER_OF_SUITS; suit++) {
+      final long description = suits[suit] >>> 2;
+      final int shift = suit * LANE_BITS;
+      canonicalBlack |= (description >>> 2 * VALUE_BITS) << shift;
+      canonicalWhite |= (description >>> VALUE_BITS & VALUE_MASK) << shift;
+      canonicalDead |= (description & VALUE_MASK) << shift;
+      renaming |= suit << 2 * (int) (suits[suit] & 3);
+
+      sameAsPrevious =
+          suit > 0 && description == suits[suit - 1] >>> 2 ? sameAsPrevious + 1 : 1;
+      symmetries *= sameAsPrevious;
+    }
+    return new Canonical(
+        canonicalBlack,
+        canonicalWhite,
+        canonicalDead,
+        NUMBER_OF_PERMUTATIONS / symmetries,
+        renaming);
+  }
+
+  /** Hands in the class of hand, 1 to 24. */
+  public static int multiplicity(final long hand) {
+    return canonical(hand, 0, 0).getMultiplicity();
+  }
+
+  public static boolean isCanonical(final long hand) {
+    return canonical(hand) == hand;
+  }
+
+  /** The representative of every class of five card hands, in colex order of their codes. */
+  public static long[] canonicalHands() {
+    final long[] hands = new long[NUMBER_OF_HAND_CLASSES];
+    final int[] count = new int[1];
+    HandEnumerator.enumerateRange(
+        0,
+        HandEnumerator.NUMBER_OF_HANDS,
+        hands,
+        (found, index, hand, strength) -> {
+          if (isCanonical(hand)) found[count[0]++] = hand;
+        });
+    return hands;
+  }
+}
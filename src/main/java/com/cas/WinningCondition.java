@@ -0,0 +1,121 @@
+package com.cas;
+
+import lombok.Value;
+
+/**
+ * Why the winner of a game won, kept as the ranks, values or cards that decided it.
+ *
+ * <p>Most callers only need the winner, so the text reported after "REASON = " is only built by
+ * {@link #format()}, from fragments prepared once for every rank and card value.
+ */
+@Value
+public class WinningCondition {
+
+  public enum Kind {
+    /** The ranks differ, e.g. "[FULL_HOUSE] over [FLUSH]". */
+    RANK,
+
+    /** Same rank, decided by the total value of some cards, e.g. "[PAIR] value of [8] over ...". */
+    VALUES,
+
+    /** Same rank and values, decided by a remaining card, e.g. "BLACK wins with [KING of ...". */
+    HIGH_CARDS,
+
+    /** Same rank, decided by the highest card that differs, e.g. "HIGH CARD: [ACE]". */
+    HIGH_CARD
+  }
+
+  private static final String[] BRACKETED_RANKS = new String[Rank.values().length];
+
+  private static final String[] HIGH_CARD_TEXTS = new String[13];
+
+  static {
+    for (Rank rank : Rank.values()) BRACKETED_RANKS[rank.ordinal()] = "[" + rank + "]";
+    for (int valueIndex = 0; valueIndex < HIGH_CARD_TEXTS.length; valueIndex++)
+      HIGH_CARD_TEXTS[valueIndex] =
+          "HIGH CARD: [" + Card.of(valueIndex, Suit.values()[0]).getFullNameFromValue() + "]";
+  }
+
+  Kind kind;
+  Player winner;
+
+  /** null for {@link Kind#HIGH_CARDS}, see {@link GameResult#getBlackRank()} instead. */
+  Rank winnerRank;
+
+  Rank loserRank;
+
+  /** Only for {@link Kind#VALUES}, 0 otherwise. */
+  int winnerValue;
+
+  int loserValue;
+
+  /** The deciding cards for {@link Kind#HIGH_CARDS}, the winner's for {@link Kind#HIGH_CARD}. */
+  Card winnerCard;
+
+  Card loserCard;
+
+  public static WinningCondition rank(
+      final Player winner, final Rank winnerRank, final Rank loserRank) {
+    return new WinningCondition(Kind.RANK, winner, winnerRank, loserRank, 0, 0, null, null);
+  }
+
+  public static WinningCondition values(
+      final Player winner,
+      final Rank winnerRank,
+      final int winnerValue,
+      final Rank loserRank,
+      final int loserValue) {
+    return new WinningCondition(
+        Kind.VALUES, winner, winnerRank, loserRank, winnerValue, loserValue, null, null);
+  }
+
+  public static WinningCondition highCards(
+      final Player winner, final Card winnerCard, final Card loserCard) {
+    return new WinningCondition(
+        Kind.HIGH_CARDS, winner, null, null, 0, 0, winnerCard, loserCard);
+  }
+
+  public static WinningCondition highCard(
+      final Player winner, final Rank rank, final Card winnerCard) {
+    return new WinningCondition(Kind.HIGH_CARD, winner, rank, rank, 0, 0, winnerCard, null);
+  }
+
+  /** The text reported by {@link GameResult#format()}, e.g. "[FULL_HOUSE] over [FLUSH]". */
+  public String format() {
+    switch (kind) {
+      case RANK:
+        return new StringBuilder(40)
+            .append(BRACKETED_RANKS[winnerRank.ordinal()])
+            .append(" over ")
+            .append(BRACKETED_RANKS[loserRank.ordinal()])
+            .toString();
+      case VALUES:
+        return new StringBuilder(80)
+            .append(BRACKETED_RANKS[winnerRank.ordinal()])
+            .append(" value of [")
+            .append(winnerValue)
+            .append("] over ")
+            .append(BRACKETED_RANKS[loserRank.ordinal()])
+            .append(" value of [")
+            .append(loserValue)
+            .append(']')
+            .toString();
+      case HIGH_CARDS:
+        return new StringBuilder(64)
+            .append(winner)
+            .append(" wins with ")
+            .append(winnerCard)
+            .append(" over ")
+            .append(loserCard)
+            .toString();
+      case HIGH_CARD:
+        // cards outside the 52, e.g. built by hand with an unknown value, have no prepared text
+        final int valueIndex = winnerCard.getValueAsInt() - 2;
+        return valueIndex >= 0 && valueIndex < HIGH_CARD_TEXTS.length
+            ? HIGH_CARD_TEXTS[valueIndex]
+            : "HIGH CARD: [" + winnerCard.getFullNameFromValue() + "]";
+      default:
+        throw new IllegalStateException(String.format("Unknown kind [%s]", kind));
+    }
+  }
+}
@@ -0,0 +1,102 @@
+package com.cas;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class BatchRunnerTest {
+
+  @TempDir Path directory;
+
+  private List<String> run(final BatchRunner runner, final String content) throws IOException {
+    final Path input = directory.resolve("games.txt");
+    final Path output = directory.resolve("results.txt");
+    Files.writeString(input, content);
+
+    final long games = runner.run(input, output);
+
+    final List<String> results = Files.readAllLines(output);
+    assertThat(results).hasSize((int) games);
+    return results;
+  }
+
+  @Test
+  void runKataSample() throws IOException {
+    final String sample =
+        "Black: 2H 3D 5S 9C KD  White: 2C 3H 4S 8C AH\n"
+            + "Black: 2H 4S 4C 2D 4H  White: 2S 8S AS QS 3S\n"
+            + "Black: 2H 3D 5S 9C KD  White: 2C 3H 4S 8C KH\n"
+            + "Black: 2H 3D 5S 9C KD  White: 2D 3H 5C 9S KH";
+
+    assertThat(run(new BatchRunner(), sample))
+        .containsExactly("White wins.", "Black wins.", "Black wins.", "Tie.");
+  }
+
+  @Test
+  void runSkipsBlankLinesAndCarriageReturns() throws IOException {
+    final String games =
+        "\r\n2H 3D 5S 9C KD 2C 3H 4S 8C AH\r\n  \n2H 4S 4C 2D 4H 2S 8S AS QS 3S\r\n";
+
+    assertThat(run(new BatchRunner(), games)).containsExactly("White wins.", "Black wins.");
+  }
+
+  @Test
+  void runAcrossMappingWindowsMatchesHandComparison() throws IOException {
+    final Random random = new Random(42);
+    final StringBuilder games = new StringBuilder();
+    final List<String> expected = new ArrayList<>();
+
+    for (int game = 0; game < 500; game++) {
+      final List<String> cards = new ArrayList<>();
+      while (cards.size() < CardParser.CARDS_PER_GAME) {
+        final Card card = Card.of(random.nextInt(PackedCards.NUMBER_OF_CARDS));
+        final String text = card.getValue() + card.getSuit().getLetter();
+        if (!cards.contains(text)) cards.add(text);
+      }
+      final List<String> black = cards.subList(0, 5);
+      final List<String> white = cards.subList(5, 10);
+      games
+          .append("Black: ")
+          .append(String.join(" ", black))
+          .append("  White: ")
+          .append(String.join(" ", white))
+          .append('\n');
+
+      final int comparison = Hand.newHand(black).compareTo(Hand.newHand(white));
+      expected.add(comparison == 0 ? "Tie." : comparison > 0 ? "Black wins." : "White wins.");
+    }
+
+    // each window holds a couple of lines, most of them cut in the middle
+    assertThat(run(new BatchRunner(100), games.toString())).containsExactlyElementsOf(expected);
+  }
+
+  @Test
+  void runExceptionMalformedLine() {
+    final String games =
+        "Black: 2H 3D 5S 9C KD  White: 2C 3H 4S 8C AH\n"
+            + "Black: 2H 3D 5S 9C KD  White: 2C 3H 4S 8C 1H\n";
+
+    assertThatExceptionOfType(CardParseException.class)
+        .isThrownBy(() -> run(new BatchRunner(), games))
+        .withMessage("Unable to play line [2]! Unable to parse card [1H] at position [42]!")
+        .satisfies(e -> assertThat(e.getPosition()).isEqualTo(42));
+  }
+
+  @Test
+  void runExceptionLineLongerThanWindow() {
+    final String games = "Black: 2H 3D 5S 9C KD  White: 2C 3H 4S 8C AH\n\n";
+
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(() -> run(new BatchRunner(16), games))
+        .withMessage("Line [1] is longer than the mapping window of [16] bytes!");
+  }
+}
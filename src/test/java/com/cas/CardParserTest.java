@@ -0,0 +1,124 @@
+package com.cas;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static com.cas.TestCards.codesOf;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class CardParserTest {
+
+  private static final String GAME = "Black: 2H 3D 5S 9C KD  White: 2C 3H 4S 8C AH";
+
+  @Test
+  void parseGameFromCharSequence() {
+    final int[] codes = new int[CardParser.CARDS_PER_GAME];
+
+    CardParser.parseGame(GAME, codes);
+
+    assertThat(codes)
+        .containsExactly(codesOf("2H", "3D", "5S", "9C", "KD", "2C", "3H", "4S", "8C", "AH"));
+  }
+
+  @Test
+  void parseGameFromCharsAndBytesSlice() {
+    final String padded = "ignored\n" + GAME + "\nignored";
+    final int from = padded.indexOf('B');
+    final int to = from + GAME.length();
+    final int[] fromChars = new int[CardParser.CARDS_PER_GAME];
+    final int[] fromBytes = new int[CardParser.CARDS_PER_GAME];
+    final int[] fromBuffer = new int[CardParser.CARDS_PER_GAME];
+    final int[] fromString = new int[CardParser.CARDS_PER_GAME];
+    final ByteBuffer buffer = ByteBuffer.wrap(padded.getBytes(StandardCharsets.US_ASCII));
+
+    CardParser.parseGame(padded.toCharArray(), from, to, fromChars);
+    CardParser.parseGame(padded.getBytes(StandardCharsets.US_ASCII), from, to, fromBytes);
+    CardParser.parseGame(buffer, from, to, fromBuffer);
+    CardParser.parseGame(GAME, fromString);
+
+    assertThat(fromChars).containsExactly(fromString);
+    assertThat(fromBytes).containsExactly(fromString);
+    assertThat(fromBuffer).containsExactly(fromString);
+    assertThat(buffer.position()).isZero();
+  }
+
+  @Test
+  void parseGameWithoutLabels() {
+    final int[] codes = new int[CardParser.CARDS_PER_GAME];
+
+    CardParser.parseGame("2h 3d 5s 9c kd\t2c 3h 4s 8c ah\r\n", codes);
+
+    assertThat(codes)
+        .containsExactly(codesOf("2H", "3D", "5S", "9C", "KD", "2C", "3H", "4S", "8C", "AH"));
+  }
+
+  @Test
+  void parseHandReturnsMask() {
+    final int[] codes = new int[7];
+
+    final long hand = CardParser.parseHand("  2C 3H 4S KC AH ", 0, 17, codes, 2);
+
+    assertThat(codes).containsExactly(0, 0, 0, 6, 11, 44, 50);
+    assertThat(hand)
+        .isEqualTo(PackedCards.toMask(Hand.newHand(new String[] {"2C", "3H", "4S", "KC", "AH"})));
+  }
+
+  @Test
+  void parseHandFromByteBufferSlice() {
+    final ByteBuffer buffer =
+        ByteBuffer.wrap("White: 2C 3H 4S KC AH\n".getBytes(StandardCharsets.US_ASCII));
+    final int[] codes = new int[CardParser.CARDS_PER_HAND];
+
+    final long hand = CardParser.parseHand(buffer, 0, buffer.limit() - 1, codes, 0);
+
+    assertThat(codes).containsExactly(codesOf("2C", "3H", "4S", "KC", "AH"));
+    assertThat(hand).isEqualTo(CardParser.parseHand("2C 3H 4S KC AH", 0, 14, new int[5], 0));
+    assertThat(buffer.position()).isZero();
+  }
+
+  @Test
+  void parseCardTest() {
+    assertThat(CardParser.parseCard("xx TS", 3)).isEqualTo(Card.of("TS").getCode());
+  }
+
+  @Test
+  void parseGameExceptionMalformedCard() {
+    assertThatExceptionOfType(CardParseException.class)
+        .isThrownBy(
+            () ->
+                CardParser.parseGame(
+                    "Black: 2H 3D 10S 9C KD  White: 2C 3H 4S 8C AH", new int[10]))
+        .withMessage("Unable to parse card [10S] at position [13]!")
+        .extracting(CardParseException::getPosition)
+        .isEqualTo(13);
+  }
+
+  @Test
+  void parseGameExceptionDuplicateCard() {
+    assertThatExceptionOfType(CardParseException.class)
+        .isThrownBy(
+            () ->
+                CardParser.parseGame(
+                    "Black: 2H 3D 5S 9C KD  White: 2C 3H 5S 8C AH", new int[10]))
+        .withMessage("Card [5S] at position [36] exists more than once!")
+        .extracting(CardParseException::getPosition)
+        .isEqualTo(36);
+  }
+
+  @Test
+  void parseGameExceptionMissingCards() {
+    assertThatExceptionOfType(CardParseException.class)
+        .isThrownBy(() -> CardParser.parseGame("Black: 2H 3D 5S 9C KD  White: 2C 3H", new int[10]))
+        .withMessage("Expected [10] cards but found [7] at position [35]!");
+  }
+
+  @Test
+  void parseGameExceptionTrailingInput() {
+    assertThatExceptionOfType(CardParseException.class)
+        .isThrownBy(() -> CardParser.parseGame(GAME + " 7D", new int[10]))
+        .withMessage("Unexpected [7D] at position [45] after [10] cards!");
+  }
+}
@@ -3,9 +3,16 @@ package com.cas;
 import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 class CardTest {
 
+  @Test
+  void getTextGivesBackTheParsedCharacters() {
+    assertThat(Card.of("TH").getText()).isEqualTo("TH");
+    assertThat(Card.of("2c").getText()).isEqualTo("2C");
+  }
+
   @Test
   void getFullNameFromValueTest() {
     String suit = "D";
@@ -52,4 +59,49 @@ class CardTest {
     card = new Card("1", suit);
     assertThat(card.getFullNameFromValue()).isEqualTo("1");
   }
+
+  @Test
+  void ofReturnsTheSameInstanceForTheSameCard() {
+    Card card = Card.of("TH");
+
+    assertThat(Card.of('t', 'h')).isSameAs(card);
+    assertThat(Card.of(8, Suit.HEARTS)).isSameAs(card);
+    assertThat(Card.of(card.getCode())).isSameAs(card);
+    assertThat(card).isEqualTo(new Card("T", "H"));
+  }
+
+  @Test
+  void ofCoversTheWholeDeck() {
+    for (int code = 0; code < 52; code++) {
+      Card card = Card.of(code);
+      Card constructed = new Card(card.getValue(), card.getSuit().getLetter());
+
+      assertThat(card.getCode()).isEqualTo(code);
+      assertThat(card).isEqualTo(constructed);
+      assertThat(card.toString()).isEqualTo(constructed.toString());
+      assertThat(card.getFullNameFromValue()).isEqualTo(constructed.getFullNameFromValue());
+    }
+  }
+
+  @Test
+  void toStringTest() {
+    assertThat(Card.of("AD").toString()).isEqualTo("[ACE of DIAMONDS]");
+    assertThat(new Card("1", "D").toString()).isEqualTo("[1 of DIAMONDS]");
+  }
+
+  @Test
+  void ofExceptionUnknownCard() {
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(() -> Card.of("1D"))
+        .withMessage("Unable to parse card [1D]!");
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(() -> Card.of("10D"))
+        .withMessage("Unable to parse card [10D]!");
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(() -> Card.of('A', 'X'))
+        .withMessage("Unable to parse card [AX]!");
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(() -> Card.of(52))
+        .withMessage("Unable to find card for code [52]!");
+  }
 }
@@ -0,0 +1,115 @@
+package com.cas;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.cas.TestCards.cardsOf;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.within;
+
+class DrawOptimizerTest {
+
+  private static final DrawOptimizer OPTIMIZER = new DrawOptimizer();
+
+  private static DrawOptimizer.Option optionDiscarding(
+      final List<DrawOptimizer.Option> options, final long discards) {
+    return options.stream().filter(option -> option.getDiscards() == discards).findFirst().get();
+  }
+
+  @Test
+  void optimizeCoversEveryDiscardOnce() {
+    final long hand = cardsOf("7C", "7D", "KH", "9S", "2C");
+
+    final List<DrawOptimizer.Option> options = OPTIMIZER.optimize(hand);
+
+    assertThat(options).hasSize(DrawOptimizer.NUMBER_OF_DISCARDS);
+    assertThat(options).extracting(DrawOptimizer.Option::getDiscards).doesNotHaveDuplicates();
+    assertThat(options)
+        .allSatisfy(option -> assertThat(option.getDiscards() | option.getKept()).isEqualTo(hand));
+    // every final hand is reached by exactly one discard
+    assertThat(options.stream().mapToLong(DrawOptimizer.Option::getDraws).sum())
+        .isEqualTo(HandEnumerator.NUMBER_OF_HANDS);
+    assertThat(options).extracting(DrawOptimizer.Option::getOutcomes).containsOnlyNulls();
+
+    final DrawOptimizer.Option standPat = optionDiscarding(options, 0);
+    assertThat(standPat.getDraws()).isEqualTo(1);
+    assertThat(standPat.getExpectedStrength()).isEqualTo(HandEvaluator.evaluate(hand));
+  }
+
+  @Test
+  void optimizeMatchesEveryDrawOfOneDiscard() {
+    final long hand = cardsOf("7C", "7D", "KH", "9S", "2C");
+    final long discards = cardsOf("KH", "9S", "2C");
+    final long opponent = cardsOf("8H", "8S", "3D", "4D", "JC");
+    final int opponentStrength = HandEvaluator.evaluate(opponent);
+
+    long draws = 0;
+    long strengths = 0;
+    long wins = 0;
+    long ties = 0;
+    for (int a = 0; a < PackedCards.NUMBER_OF_CARDS; a++)
+      for (int b = a + 1; b < PackedCards.NUMBER_OF_CARDS; b++)
+        for (int c = b + 1; c < PackedCards.NUMBER_OF_CARDS; c++) {
+          final long draw =
+              PackedCards.maskOf(a) | PackedCards.maskOf(b) | PackedCards.maskOf(c);
+          if ((draw & (hand | opponent)) != 0) continue;
+          final int strength = HandEvaluator.evaluate(hand & ~discards | draw);
+          draws++;
+          strengths += strength;
+          if (strength > opponentStrength) wins++;
+          else if (strength == opponentStrength) ties++;
+        }
+
+    final DrawOptimizer.Option option =
+        optionDiscarding(OPTIMIZER.optimize(hand, opponent), discards);
+
+    assertThat(option.getDraws()).isEqualTo(draws);
+    assertThat(option.getExpectedStrength()).isCloseTo((double) strengths / draws, within(1e-9));
+    assertThat(option.getOutcomes().getWins()).isEqualTo(wins);
+    assertThat(option.getOutcomes().getTies()).isEqualTo(ties);
+    assertThat(option.getOutcomes().getOpponents()).isEqualTo(draws);
+  }
+
+  @Test
+  void optimizeStandsPatOnRoyalFlush() {
+    final List<DrawOptimizer.Option> options =
+        OPTIMIZER.optimize(cardsOf("TS", "JS", "QS", "KS", "AS"));
+
+    assertThat(options.get(0).getDiscards()).isZero();
+    assertThat(options.get(0).getExpectedStrength())
+        .isEqualTo(HandEvaluator.NUMBER_OF_EQUIVALENCE_CLASSES);
+  }
+
+  @Test
+  void optimizeRanksByEquityAgainstOpponent() {
+    final Hand hand = Hand.newHand(new String[] {"2H", "5H", "9H", "KH", "7C"});
+    final Hand opponent = Hand.newHand(new String[] {"8C", "9D", "TS", "JC", "QD"});
+
+    final List<DrawOptimizer.Option> options = OPTIMIZER.optimize(hand, opponent);
+
+    // only a flush beats the straight, so the seven of clubs goes
+    assertThat(options.get(0).getDiscards()).isEqualTo(cardsOf("7C"));
+    assertThat(options.get(0).getEquity()).isCloseTo(9.0 / 42, within(1e-9));
+    for (int i = 1; i < options.size(); i++)
+      assertThat(options.get(i).getEquity()).isLessThanOrEqualTo(options.get(i - 1).getEquity());
+  }
+
+  @Test
+  void optimizeExceptionInvalidHand() {
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(() -> OPTIMIZER.optimize(cardsOf("TS", "JS", "QS", "KS")))
+        .withMessage("Unable to evaluate hand [TS JS QS KS]!");
+  }
+
+  @Test
+  void optimizeExceptionCardInBothHands() {
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(
+            () ->
+                OPTIMIZER.optimize(
+                    cardsOf("7C", "7D", "KH", "9S", "2C"), cardsOf("7C", "8D", "KS", "9H", "3C")))
+        .withMessage("Card [7C] exists in more than one hand!");
+  }
+}
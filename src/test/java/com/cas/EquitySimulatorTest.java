@@ -0,0 +1,117 @@
+package com.cas;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.cas.TestCards.codesOf;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.within;
+
+class EquitySimulatorTest {
+
+  private static EquitySimulator.Config.ConfigBuilder config() {
+    return EquitySimulator.Config.builder().seed(11).maxTrials(200_000).batchSize(10_000);
+  }
+
+  @Test
+  void simulateKnownHandsAlwaysGivesTheSameWinner() {
+    final EquitySimulator.Equity equity =
+        new EquitySimulator(config().build())
+            .simulate(
+                codesOf("2H", "4S", "4C", "2D", "4H"), codesOf("2S", "8S", "AS", "QS", "3S"));
+
+    assertThat(equity.getTrials()).isEqualTo(200_000);
+    assertThat(equity.getBlackWins()).isEqualTo(equity.getTrials());
+    assertThat(equity.getBlackEquity()).isEqualTo(1.0);
+    assertThat(equity.getHalfWidth()).isZero();
+  }
+
+  @Test
+  void simulateMatchesExactOddsOfOneUnknownCard() {
+    final int[] black = codesOf("7C", "7D", "KH", "9S", "2C");
+    final int[] white = codesOf("8C", "8D", "3H", "4S");
+    final int blackStrength =
+        HandEvaluator.evaluate(black[0], black[1], black[2], black[3], black[4]);
+
+    // every possible last card for White is equally likely
+    long known = 0;
+    for (int code : black) known |= PackedCards.maskOf(code);
+    for (int code : white) known |= PackedCards.maskOf(code);
+    int blackWins = 0;
+    for (int code = 0; code < PackedCards.NUMBER_OF_CARDS; code++)
+      if ((known & PackedCards.maskOf(code)) == 0
+          && blackStrength > HandEvaluator.evaluate(white[0], white[1], white[2], white[3], code))
+        blackWins++;
+    final double expected = blackWins / 43.0;
+
+    final EquitySimulator.Equity equity =
+        new EquitySimulator(config().build()).simulate(black, white);
+
+    assertThat(equity.getBlackWinProbability()).isCloseTo(expected, within(equity.getHalfWidth()));
+    assertThat(equity.getTies()).isZero();
+  }
+
+  @Test
+  void simulateUnknownHandsIsEven() {
+    final EquitySimulator.Equity equity =
+        new EquitySimulator(config().build()).simulate(new int[0], new int[0]);
+
+    assertThat(equity.getBlackEquity()).isCloseTo(0.5, within(equity.getHalfWidth()));
+    assertThat(equity.getBlackWins() + equity.getWhiteWins() + equity.getTies())
+        .isEqualTo(equity.getTrials());
+  }
+
+  @Test
+  void simulateIsDeterministicWhateverTheNumberOfThreads() {
+    final List<Card> black = List.of(Card.of("AH"), Card.of("AD"), Card.of("5C"));
+    final EquitySimulator.Config config = config().targetHalfWidth(0.002).build();
+    final ForkJoinPool onePool = new ForkJoinPool(1);
+    final ForkJoinPool fourPool = new ForkJoinPool(4);
+
+    try {
+      final EquitySimulator.Equity onOneThread =
+          new EquitySimulator(config, onePool).simulate(black, List.of());
+      final EquitySimulator.Equity onFourThreads =
+          new EquitySimulator(config, fourPool).simulate(black, List.of());
+
+      assertThat(onFourThreads).isEqualTo(onOneThread);
+    } finally {
+      onePool.shutdown();
+      fourPool.shutdown();
+    }
+  }
+
+  @Test
+  void simulateStopsOnceTheIntervalIsNarrowEnough() {
+    final EquitySimulator.Equity equity =
+        new EquitySimulator(config().maxTrials(10_000_000).targetHalfWidth(0.01).build())
+            .simulate(codesOf("KH", "KD"), codesOf("QS", "QC"));
+
+    assertThat(equity.getTrials()).isLessThan(10_000_000).isEqualTo(10_000);
+    assertThat(equity.getHalfWidth()).isLessThanOrEqualTo(0.01);
+    assertThat(equity.getBlackEquity()).isGreaterThan(0.5);
+  }
+
+  @Test
+  void simulateExceptionCardInBothHands() {
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(
+            () ->
+                new EquitySimulator(config().build())
+                    .simulate(codesOf("KH", "KD"), codesOf("QS", "KH")))
+        .withMessage("Card [KH] exists more than once in the matchup!");
+  }
+
+  @Test
+  void simulateExceptionTooManyCards() {
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(
+            () ->
+                new EquitySimulator(config().build())
+                    .simulate(codesOf("2C", "3C", "4C", "5C", "6C", "7C"), new int[0]))
+        .withMessage("A player cannot hold more than 5 cards! Black [6] White [0]");
+  }
+}
@@ -0,0 +1,151 @@
+package com.cas;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class EvaluationTablesTest {
+
+  @TempDir Path directory;
+
+  private Path writeTables() {
+    final Path path = directory.resolve("tables.bin");
+    EvaluationTables.write(path);
+    return path;
+  }
+
+  private static void rewrite(final Path path, final int offset, final int value)
+      throws IOException {
+    final byte[] bytes = Files.readAllBytes(path);
+    ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(offset, value);
+    Files.write(path, bytes);
+  }
+
+  @Test
+  void writeIsReproducibleAndLoadsBack() throws IOException {
+    final Path first = writeTables();
+    final byte[] written = Files.readAllBytes(first);
+    final Path second = directory.resolve("again.bin");
+    EvaluationTables.write(second);
+
+    assertThat(Files.readAllBytes(second)).isEqualTo(written);
+    assertThat(ByteBuffer.wrap(written).order(ByteOrder.LITTLE_ENDIAN).getInt(0))
+        .isEqualTo(EvaluationTables.MAGIC);
+
+    final EvaluationTables tables = EvaluationTables.load(first);
+    // ace high straight flush, the value mask AKQJT
+    assertThat(tables.shorts(EvaluationTables.Section.FIVE_CARD_FLUSHES).get(0x1F00))
+        .isEqualTo((short) HandEvaluator.NUMBER_OF_EQUIVALENCE_CLASSES);
+    assertThat(tables.bytes(EvaluationTables.Section.FIVE_CARD_RANKS).get(1))
+        .isEqualTo((byte) Rank.HIGH_CARD.ordinal());
+  }
+
+  /**
+   * Runs BatchRunner over two games in a new JVM that reads its tables from the given file.
+   *
+   * @return the exit value and what the JVM wrote to stdout and stderr
+   */
+  private Map.Entry<Integer, String> runBatchWithTables(final Path tables)
+      throws IOException, InterruptedException {
+    final Path games = directory.resolve("games.txt");
+    Files.write(
+        games,
+        List.of(
+            "Black: 2H 3D 5S 9C KD  White: 2C 3H 4S 8C AH",
+            "Black: 2H 4S 4C 2D 4H  White: 2S 8S AS QS 3S"));
+
+    final Process process =
+        new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-D" + EvaluationTables.PATH_PROPERTY + "=" + tables,
+                "-cp",
+                System.getProperty("java.class.path"),
+                BatchRunner.class.getName(),
+                games.toString(),
+                directory.resolve("results.txt").toString())
+            .redirectErrorStream(true)
+            .start();
+    final String output = new String(process.getInputStream().readAllBytes());
+
+    assertThat(process.waitFor(60, TimeUnit.SECONDS)).isTrue();
+    return Map.entry(process.exitValue(), output);
+  }
+
+  @Test
+  void evaluatorsStartFromTheFile() throws IOException, InterruptedException {
+    assertThat(runBatchWithTables(writeTables()).getKey()).isZero();
+    assertThat(Files.readAllLines(directory.resolve("results.txt"), StandardCharsets.US_ASCII))
+        .containsExactly("White wins.", "Black wins.");
+  }
+
+  @Test
+  void evaluatorsFailOnACorruptFile() throws IOException, InterruptedException {
+    // a JVM that ignored the property would build its own tables and succeed
+    final Path tables = writeTables();
+    rewrite(tables, EvaluationTables.HEADER_SIZE + 64, 0xBAD);
+
+    final Map.Entry<Integer, String> run = runBatchWithTables(tables);
+
+    assertThat(run.getKey()).isNotZero();
+    assertThat(run.getValue())
+        .contains(String.format("Evaluation tables [%s] are corrupt, checksum mismatch!", tables));
+  }
+
+  @Test
+  void evaluatorsFailOnAMissingFile() throws IOException, InterruptedException {
+    final Path tables = directory.resolve("missing.bin");
+
+    final Map.Entry<Integer, String> run = runBatchWithTables(tables);
+
+    assertThat(run.getKey()).isNotZero();
+    assertThat(run.getValue())
+        .contains(String.format("Unable to read evaluation tables from [%s]!", tables));
+  }
+
+  @Test
+  void loadExceptionCorruptFile() throws IOException {
+    final Path path = writeTables();
+    rewrite(path, EvaluationTables.HEADER_SIZE + 64, 0xBAD);
+
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(() -> EvaluationTables.load(path))
+        .withMessage("Evaluation tables [%s] are corrupt, checksum mismatch!", path);
+  }
+
+  @Test
+  void loadExceptionOtherVersion() throws IOException {
+    final Path path = writeTables();
+    rewrite(path, 4, EvaluationTables.VERSION + 1);
+
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(() -> EvaluationTables.load(path))
+        .withMessage(
+            "Evaluation tables [%s] have version [%s] instead of [%s]!",
+            path, EvaluationTables.VERSION + 1, EvaluationTables.VERSION);
+  }
+
+  @Test
+  void loadExceptionTruncatedFile() throws IOException {
+    final Path path = writeTables();
+    final byte[] bytes = Files.readAllBytes(path);
+    Files.write(path, Arrays.copyOf(bytes, 1000));
+
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(() -> EvaluationTables.load(path))
+        .withMessage(
+            "Evaluation tables [%s] hold [1000] bytes instead of [%s]!", path, bytes.length);
+  }
+}
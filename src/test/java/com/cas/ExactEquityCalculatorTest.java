@@ -0,0 +1,84 @@
+package com.cas;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.cas.TestCards.codesOf;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class ExactEquityCalculatorTest {
+
+  private static final ExactEquityCalculator CALCULATOR = new ExactEquityCalculator();
+
+  @Test
+  void calculateKnownHandsFollowsPokerGame() {
+    final String[] black = {"2H", "3D", "5S", "9C", "KD"};
+    final String[] white = {"2C", "3H", "4S", "8C", "AH"};
+
+    final ExactEquityCalculator.Counts counts =
+        CALCULATOR.calculate(Hand.newHand(black).getCards(), Hand.newHand(white).getCards());
+
+    assertThat(new PokerGame(GameTracer.NO_OP).evaluate(black, white).getWinner())
+        .isEqualTo(Player.WHITE);
+    assertThat(counts).isEqualTo(new ExactEquityCalculator.Counts(0, 1, 0));
+  }
+
+  @Test
+  void calculateMatchesEveryDealPlayedOut() {
+    final int[] black = codesOf("7C", "7D", "KH", "9S");
+    final int[] white = codesOf("8C", "8D", "3H");
+    long known = 0;
+    for (int code : black) known |= PackedCards.maskOf(code);
+    for (int code : white) known |= PackedCards.maskOf(code);
+
+    long blackWins = 0;
+    long whiteWins = 0;
+    long ties = 0;
+    for (int b = 0; b < PackedCards.NUMBER_OF_CARDS; b++) {
+      if ((known & PackedCards.maskOf(b)) != 0) continue;
+      final int blackStrength = HandEvaluator.evaluate(black[0], black[1], black[2], black[3], b);
+      for (int w1 = 0; w1 < PackedCards.NUMBER_OF_CARDS; w1++)
+        for (int w2 = w1 + 1; w2 < PackedCards.NUMBER_OF_CARDS; w2++) {
+          final long dealt = known | PackedCards.maskOf(b);
+          if ((dealt & (PackedCards.maskOf(w1) | PackedCards.maskOf(w2))) != 0) continue;
+          final int whiteStrength = HandEvaluator.evaluate(white[0], white[1], white[2], w1, w2);
+          if (blackStrength > whiteStrength) blackWins++;
+          else if (whiteStrength > blackStrength) whiteWins++;
+          else ties++;
+        }
+    }
+
+    assertThat(CALCULATOR.calculate(black, white))
+        .isEqualTo(new ExactEquityCalculator.Counts(blackWins, whiteWins, ties));
+  }
+
+  @Test
+  void calculateOneCardKnownPerSide() {
+    final ExactEquityCalculator.Counts counts =
+        CALCULATOR.calculate(List.of(Card.of("AH")), List.of(Card.of("AD")));
+
+    // C(50, 4) completions for Black times C(46, 4) for White
+    assertThat(counts.getDeals()).isEqualTo(230_300L * 163_185L);
+    assertThat(counts.getBlackWins()).isEqualTo(counts.getWhiteWins());
+    assertThat(counts.getTies()).isPositive();
+  }
+
+  @Test
+  void calculateNothingKnown() {
+    final ExactEquityCalculator.Counts counts = CALCULATOR.calculate(new int[0], new int[0]);
+
+    // C(52, 5) hands for Black times C(47, 5) for White
+    assertThat(counts.getDeals()).isEqualTo(2_598_960L * 1_533_939L);
+    assertThat(counts.getBlackWins()).isEqualTo(counts.getWhiteWins());
+    assertThat(counts.getBlackEquity()).isEqualTo(0.5);
+  }
+
+  @Test
+  void calculateExceptionCardInBothHands() {
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(() -> CALCULATOR.calculate(codesOf("KH"), codesOf("KH")))
+        .withMessage("Card [KH] exists more than once in the matchup!");
+  }
+}
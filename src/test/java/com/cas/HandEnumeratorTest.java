@@ -0,0 +1,155 @@
+package com.cas;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class HandEnumeratorTest {
+
+  @Test
+  void indexOfFirstAndLastHands() {
+    assertThat(HandEnumerator.indexOf(new int[] {0, 1, 2, 3, 4})).isZero();
+    assertThat(HandEnumerator.indexOf(new int[] {0, 1, 2, 3, 5})).isEqualTo(1);
+    assertThat(HandEnumerator.indexOf(new int[] {47, 48, 49, 50, 51}))
+        .isEqualTo(HandEnumerator.NUMBER_OF_HANDS - 1);
+  }
+
+  @Test
+  void unrankIsTheInverseOfIndexOfForEveryHand() {
+    final int[] codes = new int[5];
+    final BitSet seen = new BitSet(HandEnumerator.NUMBER_OF_HANDS);
+
+    for (int index = 0; index < HandEnumerator.NUMBER_OF_HANDS; index++) {
+      HandEnumerator.unrank(index, codes);
+      final long hand = HandEnumerator.unrank(index);
+      if (HandEnumerator.indexOf(codes) != index || HandEnumerator.indexOf(hand) != index)
+        assertThat(HandEnumerator.indexOf(hand)).as("hand %s", index).isEqualTo(index);
+      seen.set(index);
+    }
+
+    assertThat(seen.cardinality()).isEqualTo(HandEnumerator.NUMBER_OF_HANDS);
+  }
+
+  @Test
+  void indexOfPackedHandMatchesCodes() {
+    final Hand hand = Hand.newHand(new String[] {"2H", "3D", "5S", "9C", "KD"});
+    final int[] codes = hand.getCards().stream().mapToInt(Card::getCode).sorted().toArray();
+
+    assertThat(HandEnumerator.indexOf(PackedCards.toMask(hand)))
+        .isEqualTo(HandEnumerator.indexOf(codes));
+    assertThat(HandEnumerator.unrank(HandEnumerator.indexOf(codes)))
+        .isEqualTo(PackedCards.toMask(hand));
+  }
+
+  @Test
+  void countByRank() {
+    final Map<Rank, Long> counts = HandEnumerator.countByRank();
+
+    assertThat(counts)
+        .containsEntry(Rank.STRAIGHT_FLUSH, 36L)
+        .containsEntry(Rank.FOUR_OF_A_KIND, 624L)
+        .containsEntry(Rank.FULL_HOUSE, 3744L)
+        .containsEntry(Rank.FLUSH, 5112L)
+        .containsEntry(Rank.STRAIGHT, 9180L)
+        .containsEntry(Rank.THREE_OF_A_KIND, 54912L)
+        .containsEntry(Rank.TWO_PAIRS, 123552L)
+        .containsEntry(Rank.PAIR, 1098240L)
+        .containsEntry(Rank.HIGH_CARD, 1303560L);
+  }
+
+  @Test
+  void countByStrengthCoversEveryEquivalenceClass() {
+    final long[] counts = HandEnumerator.countByStrength();
+
+    assertThat(counts[0]).isZero();
+    assertThat(counts).hasSize(HandEvaluator.NUMBER_OF_EQUIVALENCE_CLASSES + 1);
+    for (int strength = 1; strength < counts.length; strength++)
+      assertThat(counts[strength]).as("strength %s", strength).isPositive();
+    assertThat(counts[HandEvaluator.NUMBER_OF_EQUIVALENCE_CLASSES]).isEqualTo(4);
+  }
+
+  @Test
+  void enumerateVisitsEveryIndexOnceInParallel() {
+    final ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      final BitSet visited =
+          HandEnumerator.enumerate(
+              pool,
+              BitSet::new,
+              (partial, index, hand, strength) -> {
+                assertThat(strength).isEqualTo(HandEvaluator.evaluate(hand));
+                partial.set(index);
+              },
+              (left, right) -> {
+                assertThat(left.intersects(right)).isFalse();
+                left.or(right);
+                return left;
+              });
+
+      assertThat(visited.cardinality()).isEqualTo(HandEnumerator.NUMBER_OF_HANDS);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  void enumerateRangeWalksIndexesInOrder() {
+    final long[] lastIndexAndCount = {99, 0};
+
+    HandEnumerator.enumerateRange(
+        100,
+        200,
+        lastIndexAndCount,
+        (partial, index, hand, strength) -> {
+          assertThat(index).isEqualTo(partial[0] + 1);
+          assertThat(hand).isEqualTo(HandEnumerator.unrank(index));
+          partial[0] = index;
+          partial[1]++;
+        });
+
+    assertThat(lastIndexAndCount).containsExactly(199, 100);
+  }
+
+  @Test
+  void nextWalksEveryChoiceOfASmallDeckInColexOrder() {
+    // 3 of 9 cards, walked from every start index
+    final int choices = HandEnumerator.binomial(9, 3);
+    final int[] walked = new int[4];
+    final int[] expected = new int[4];
+
+    for (int from = 0; from < choices; from++) {
+      HandEnumerator.unrank(from, 3, 9, walked);
+      for (int index = from; index < choices; index++) {
+        HandEnumerator.unrank(index, 3, 9, expected);
+        assertThat(walked).as("index %s from %s", index, from).containsExactly(expected);
+        assertThat(walked).doesNotHaveDuplicates().isSorted();
+        assertThat(
+                HandEnumerator.binomial(walked[0], 1)
+                    + HandEnumerator.binomial(walked[1], 2)
+                    + HandEnumerator.binomial(walked[2], 3))
+            .isEqualTo(index);
+        if (index + 1 < choices) HandEnumerator.next(walked);
+      }
+    }
+  }
+
+  @Test
+  void unrankExceptionIndexOutOfRange() {
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(() -> HandEnumerator.unrank(HandEnumerator.NUMBER_OF_HANDS))
+        .withMessage("Unable to find hand for index [2598960]!");
+  }
+
+  @Test
+  void indexOfExceptionCodesNotAscending() {
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(() -> HandEnumerator.indexOf(new int[] {4, 3, 2, 1, 0}))
+        .withMessage(
+            "Codes [[4, 3, 2, 1, 0]] are not five distinct card codes in ascending order!");
+  }
+}
@@ -0,0 +1,171 @@
+package com.cas;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class HandEvaluatorTest {
+
+  private static int evaluate(final String... cards) {
+    return HandEvaluator.evaluate(Hand.newHand(cards).getCards());
+  }
+
+  /** The has* chain that Hand#determineRank used before the lookup tables. */
+  private static Rank rankFromPredicates(final Hand hand) {
+    if (hand.hasStraightFlush()) return Rank.STRAIGHT_FLUSH;
+    else if (hand.hasFourOfAKind()) return Rank.FOUR_OF_A_KIND;
+    else if (hand.hasFullHouse()) return Rank.FULL_HOUSE;
+    else if (hand.hasFlush()) return Rank.FLUSH;
+    else if (hand.hasStraight()) return Rank.STRAIGHT;
+    else if (hand.hasThreeOfAKind()) return Rank.THREE_OF_A_KIND;
+    else if (hand.hasTwoPairs()) return Rank.TWO_PAIRS;
+    else if (hand.hasPair()) return Rank.PAIR;
+    else return Rank.HIGH_CARD;
+  }
+
+  @Test
+  void rankMatchesPredicateChainForEveryHand() {
+    final Card[] deck = new Card[52];
+    for (int code = 0; code < 52; code++) deck[code] = Card.of(code);
+
+    for (int a = 0; a < 52; a++)
+      for (int b = a + 1; b < 52; b++)
+        for (int c = b + 1; c < 52; c++)
+          for (int d = c + 1; d < 52; d++)
+            for (int e = d + 1; e < 52; e++) {
+              final Hand hand = new Hand(List.of(deck[a], deck[b], deck[c], deck[d], deck[e]));
+              final Rank expected = rankFromPredicates(hand);
+              if (hand.getHighestRank() != expected)
+                assertThat(hand.getHighestRank()).as(hand.toString()).isEqualTo(expected);
+            }
+  }
+
+  @Test
+  void everyHandFallsIntoOneOfTheEquivalenceClasses() {
+    final BitSet seenStrengths = new BitSet();
+    final Map<Rank, Integer> handsPerRank = new EnumMap<>(Rank.class);
+
+    for (int a = 0; a < 52; a++)
+      for (int b = a + 1; b < 52; b++)
+        for (int c = b + 1; c < 52; c++)
+          for (int d = c + 1; d < 52; d++)
+            for (int e = d + 1; e < 52; e++) {
+              final int strength = HandEvaluator.evaluate(a, b, c, d, e);
+              seenStrengths.set(strength);
+              handsPerRank.merge(HandEvaluator.rankOf(strength), 1, Integer::sum);
+            }
+
+    assertThat(seenStrengths.get(0)).isFalse();
+    assertThat(seenStrengths.cardinality()).isEqualTo(HandEvaluator.NUMBER_OF_EQUIVALENCE_CLASSES);
+    assertThat(seenStrengths.nextClearBit(1))
+        .isEqualTo(HandEvaluator.NUMBER_OF_EQUIVALENCE_CLASSES + 1);
+
+    // A-2-3-4-5 is not a straight in this kata, hence 36 straight flushes instead of 40
+    assertThat(handsPerRank)
+        .containsEntry(Rank.STRAIGHT_FLUSH, 36)
+        .containsEntry(Rank.FOUR_OF_A_KIND, 624)
+        .containsEntry(Rank.FULL_HOUSE, 3744)
+        .containsEntry(Rank.FLUSH, 5112)
+        .containsEntry(Rank.STRAIGHT, 9180)
+        .containsEntry(Rank.THREE_OF_A_KIND, 54912)
+        .containsEntry(Rank.TWO_PAIRS, 123552)
+        .containsEntry(Rank.PAIR, 1098240)
+        .containsEntry(Rank.HIGH_CARD, 1303560);
+  }
+
+  @Test
+  void packedHandsEvaluateLikeCardCodes() {
+    for (int a = 0; a < 52; a++)
+      for (int b = a + 1; b < 52; b++)
+        for (int c = b + 1; c < 52; c++)
+          for (int d = c + 1; d < 52; d++)
+            for (int e = d + 1; e < 52; e++) {
+              final long hand =
+                  PackedCards.maskOf(a)
+                      | PackedCards.maskOf(b)
+                      | PackedCards.maskOf(c)
+                      | PackedCards.maskOf(d)
+                      | PackedCards.maskOf(e);
+              final int expected = HandEvaluator.evaluate(a, b, c, d, e);
+              if (HandEvaluator.evaluate(hand) != expected)
+                assertThat(HandEvaluator.evaluate(hand))
+                    .as(Long.toHexString(hand))
+                    .isEqualTo(expected);
+            }
+  }
+
+  @Test
+  void packedHandsOfOtherSizesAreNotAHand() {
+    assertThat(HandEvaluator.evaluate(0L)).isZero();
+    assertThat(HandEvaluator.evaluate(0x1FL)).isEqualTo(evaluate("2C", "3C", "4C", "5C", "6C"));
+    assertThat(HandEvaluator.evaluate(0x3FL)).isZero();
+    assertThat(HandEvaluator.evaluate(0xF000L | 1L << 16)).isZero();
+  }
+
+  @Test
+  void strengthOrdersHandsByKickers() {
+    final List<Integer> ascending = new ArrayList<>();
+    ascending.add(evaluate("2C", "3D", "4H", "5S", "7C"));
+    ascending.add(evaluate("2C", "3D", "4H", "5S", "AC"));
+    ascending.add(evaluate("2C", "2D", "3H", "4S", "5C"));
+    ascending.add(evaluate("2C", "2D", "3H", "4S", "6C"));
+    ascending.add(evaluate("3C", "3D", "2H", "4S", "5C"));
+    ascending.add(evaluate("2C", "2D", "3H", "3S", "4C"));
+    ascending.add(evaluate("2C", "2D", "4H", "4S", "3C"));
+    ascending.add(evaluate("3C", "3D", "4H", "4S", "2C"));
+    ascending.add(evaluate("AC", "AD", "AH", "2S", "3C"));
+    ascending.add(evaluate("2C", "3D", "4H", "5S", "6C"));
+    ascending.add(evaluate("2C", "3C", "4C", "5C", "7C"));
+    ascending.add(evaluate("2C", "2D", "2H", "3S", "3C"));
+    ascending.add(evaluate("2C", "2D", "2H", "2S", "3C"));
+    ascending.add(evaluate("2C", "3C", "4C", "5C", "6C"));
+    ascending.add(evaluate("TC", "JC", "QC", "KC", "AC"));
+
+    assertThat(ascending).isSorted().doesNotHaveDuplicates();
+    assertThat(ascending.get(0)).isEqualTo(1);
+    assertThat(ascending.get(ascending.size() - 1))
+        .isEqualTo(HandEvaluator.NUMBER_OF_EQUIVALENCE_CLASSES);
+  }
+
+  @Test
+  void aceLowIsNotAStraight() {
+    final int strength = evaluate("AC", "2D", "3H", "4S", "5C");
+
+    assertThat(HandEvaluator.rankOf(strength)).isEqualTo(Rank.HIGH_CARD);
+    assertThat(strength).isGreaterThan(evaluate("KC", "QD", "JH", "TS", "8C"));
+  }
+
+  @Test
+  void suitsDoNotMatterOutsideOfFlushes() {
+    assertThat(evaluate("2C", "2D", "9H", "JS", "KC"))
+        .isEqualTo(evaluate("2H", "2S", "9C", "JD", "KD"));
+  }
+
+  @Test
+  void duplicateCardsAreNotAHand() {
+    assertThat(HandEvaluator.evaluate(0, 0, 4, 8, 12)).isZero();
+    assertThat(HandEvaluator.evaluate(0, 0, 1, 2, 3)).isZero();
+  }
+
+  @Test
+  void evaluateExceptionUnknownCard() {
+    final List<Card> cards =
+        List.of(
+            new Card("1", "C"),
+            new Card("3", "H"),
+            new Card("4", "S"),
+            new Card("K", "C"),
+            new Card("A", "H"));
+
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(() -> HandEvaluator.evaluate(cards))
+        .withMessage("Unable to evaluate card [[1 of CLUBS]]!");
+  }
+}
@@ -76,6 +76,22 @@ class HandTest {
             "Poker hand cannot be less than or greater than 5 cards! Size of hand parsed: [2]");
   }
 
+  @Test
+  void parseHandExceptionDuplicateCard() {
+    List<String> listHand = List.of("2C", "3H", "4S", "3H", "AH");
+
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(() -> Hand.newHand(listHand))
+        .withMessage("Card [3H] exists more than once in the hand!");
+  }
+
+  @Test
+  void parseHandUsesCanonicalCards() {
+    Hand hand = Hand.newHand(new String[] {"2C", "3H", "4S", "KC", "AH"});
+
+    assertThat(hand.getHighCard()).isSameAs(Card.of("AH"));
+  }
+
   @Test
   void getHighCardReturnsAce() {
     String[] arrHand = new String[] {"2C", "3H", "4S", "KC", "AH"};
@@ -235,4 +251,56 @@ class HandTest {
 
     assertThat(hand.hasStraightFlush()).isFalse();
   }
+
+  @Test
+  void rankedCardsPutMatchingCardsFirst() {
+    String[] arrHand = new String[] {"KC", "2D", "9S", "2C", "5D"};
+    Hand hand = Hand.newHand(arrHand);
+
+    assertThat(hand.getRankedCards())
+        .extracting(Card::getValue)
+        .containsExactly("2", "2", "K", "9", "5");
+  }
+
+  @Test
+  void getCardsSortsCardsGivenInAnyOrder() {
+    Hand hand = Hand.newHand(new String[] {"KC", "2D", "AS", "9C", "5D"});
+
+    assertThat(hand.getCards())
+        .extracting(Card::getValue)
+        .containsExactly("2", "5", "9", "K", "A");
+    assertThat(hand.getHighCard()).isSameAs(Card.of("AS"));
+    assertThat(hand).isEqualTo(Hand.newHand(new String[] {"2D", "5D", "9C", "KC", "AS"}));
+  }
+
+  @Test
+  void detailOnlyBuiltWhenRanksMatch() {
+    PokerGame game = new PokerGame(GameTracer.NO_OP);
+    Hand pair = Hand.newHand(new String[] {"2C", "2D", "3S", "4C", "KD"});
+    Hand flush = Hand.newHand(new String[] {"2H", "5H", "7H", "JH", "QH"});
+    Hand otherPair = Hand.newHand(new String[] {"3C", "3D", "4S", "5C", "6D"});
+
+    game.evaluate(pair, flush);
+
+    assertThat(pair.hasDetail()).isFalse();
+    assertThat(flush.hasDetail()).isFalse();
+    assertThat(pair.getHighestRank()).isEqualTo(Rank.PAIR);
+
+    game.evaluate(pair, otherPair);
+
+    assertThat(pair.hasDetail()).isTrue();
+    assertThat(otherPair.hasDetail()).isTrue();
+  }
+
+  @Test
+  void compareToUsesRankThenRemainingCards() {
+    Hand pairOfTwosKingHigh = Hand.newHand(new String[] {"2C", "2D", "3S", "4C", "KD"});
+    Hand pairOfTwosQueenHigh = Hand.newHand(new String[] {"2H", "2S", "5S", "JC", "QD"});
+    Hand pairOfThrees = Hand.newHand(new String[] {"3C", "3D", "4S", "5C", "6D"});
+    Hand sameAsPairOfThrees = Hand.newHand(new String[] {"3H", "3S", "4D", "5H", "6S"});
+
+    assertThat(pairOfTwosKingHigh).isGreaterThan(pairOfTwosQueenHigh);
+    assertThat(pairOfThrees).isGreaterThan(pairOfTwosKingHigh);
+    assertThat(pairOfThrees).isEqualByComparingTo(sameAsPairOfThrees);
+  }
 }
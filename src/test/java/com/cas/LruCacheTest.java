@@ -0,0 +1,81 @@
+package com.cas;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class LruCacheTest {
+
+  @Test
+  void getLoadsOnlyOnAMiss() {
+    final LruCache<Integer, String> cache = new LruCache<>(4, 1);
+    final AtomicInteger loads = new AtomicInteger();
+
+    assertThat(cache.get(1, key -> "one" + loads.incrementAndGet())).isEqualTo("one1");
+    assertThat(cache.get(1, key -> "one" + loads.incrementAndGet())).isEqualTo("one1");
+
+    assertThat(cache.getStatistics()).isEqualTo(new LruCache.Statistics(1, 1, 0, 1));
+    assertThat(cache.getStatistics().getHitRate()).isEqualTo(0.5);
+  }
+
+  @Test
+  void getEvictsTheLeastRecentlyUsedEntry() {
+    final LruCache<Integer, Integer> cache = new LruCache<>(3, 1);
+    cache.get(1, key -> key);
+    cache.get(2, key -> key);
+    cache.get(3, key -> key);
+    cache.get(1, key -> key);
+    cache.get(4, key -> key);
+
+    // 2 was used least recently, so it is loaded again
+    assertThat(cache.get(2, key -> -key)).isEqualTo(-2);
+    assertThat(cache.get(1, key -> -key)).isEqualTo(1);
+    assertThat(cache.getStatistics().getEvictions()).isEqualTo(2);
+    assertThat(cache.size()).isEqualTo(3);
+  }
+
+  @Test
+  void segmentsNeverOutnumberEntries() {
+    assertThat(new LruCache<Integer, Integer>(1000, 6).numberOfSegments()).isEqualTo(8);
+    assertThat(new LruCache<Integer, Integer>(3, 64).numberOfSegments()).isEqualTo(2);
+    assertThat(new LruCache<Integer, Integer>(1, 64).numberOfSegments()).isEqualTo(1);
+  }
+
+  @Test
+  void getStaysBoundedAcrossThreads() {
+    final LruCache<Integer, Integer> cache = new LruCache<>(100, 8);
+    final List<CompletableFuture<Void>> workers = new ArrayList<>();
+    for (int worker = 0; worker < 8; worker++) {
+      final int seed = worker;
+      workers.add(
+          CompletableFuture.runAsync(
+              () -> {
+                for (int i = 0; i < 20_000; i++) {
+                  final int key = (i * 31 + seed) % 500;
+                  assertThat(cache.get(key, k -> k * 2)).isEqualTo(key * 2);
+                }
+              }));
+    }
+    workers.forEach(CompletableFuture::join);
+
+    final LruCache.Statistics statistics = cache.getStatistics();
+    assertThat(statistics.getSize()).isLessThanOrEqualTo(100);
+    assertThat(statistics.getHits() + statistics.getMisses()).isEqualTo(8 * 20_000);
+    // two threads may miss the same key at once, only one of them stores it
+    assertThat(statistics.getMisses() - statistics.getEvictions())
+        .isGreaterThanOrEqualTo(statistics.getSize());
+  }
+
+  @Test
+  void cacheExceptionInvalidSize() {
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(() -> new LruCache<Integer, Integer>(0, 4))
+        .withMessage("Invalid maximum size [0] or concurrency level [4]!");
+  }
+}
@@ -0,0 +1,126 @@
+package com.cas;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class MatchupCacheTest {
+
+  private static final String[] FULL_HOUSE = {"2H", "4S", "4C", "2D", "4H"};
+  private static final String[] FLUSH = {"2S", "8S", "AS", "QS", "3S"};
+
+  private static MatchupCache cache(final boolean normalizeSuits) {
+    return new MatchupCache(
+        new PokerGame(GameTracer.NO_OP),
+        MatchupCache.Config.builder().maximumSize(16).normalizeSuits(normalizeSuits).build());
+  }
+
+  @Test
+  void playMatchesPokerGame() {
+    final MatchupCache cache = cache(false);
+    final String[][][] games = {
+      {{"2H", "3D", "5S", "9C", "KD"}, {"2C", "3H", "4S", "8C", "AH"}},
+      {FULL_HOUSE, FLUSH},
+      {{"2H", "3D", "5S", "9C", "KD"}, {"2C", "3H", "4S", "8C", "KH"}},
+      {{"2H", "3D", "5S", "9C", "KD"}, {"2D", "3H", "5C", "9S", "KH"}}
+    };
+
+    for (int round = 0; round < 2; round++)
+      for (String[][] game : games)
+        assertThat(cache.play(game[0], game[1]))
+            .isEqualTo(new PokerGame(GameTracer.NO_OP).play(game[0], game[1]));
+
+    assertThat(cache.getResultStatistics().getMisses()).isEqualTo(4);
+    assertThat(cache.getResultStatistics().getHits()).isEqualTo(4);
+  }
+
+  @Test
+  void evaluateIgnoresTheOrderOfTheCards() {
+    final MatchupCache cache = cache(false);
+
+    final GameResult first = cache.evaluate(FULL_HOUSE, FLUSH);
+    final GameResult second =
+        cache.evaluate(
+            new String[] {"4h", "2d", "4c", "4s", "2h"},
+            new String[] {"3S", "QS", "AS", "8S", "2S"});
+
+    assertThat(second).isSameAs(first);
+    assertThat(cache.getHandStatistics().getMisses()).isEqualTo(2);
+  }
+
+  @Test
+  void evaluateSharesMatchupsThatOnlyDifferBySuit() {
+    final MatchupCache cache = cache(true);
+    final String[] hearts = {"2H", "5H", "8H", "JH", "QH"};
+    final String[] mixed = {"2S", "5C", "8D", "JC", "KC"};
+
+    cache.evaluate(hearts, mixed);
+    // hearts and spades swapped, clubs and diamonds swapped
+    final GameResult renamed =
+        cache.evaluate(
+            new String[] {"2S", "5S", "8S", "JS", "QS"},
+            new String[] {"2H", "5D", "8C", "JD", "KD"});
+
+    assertThat(renamed.getWinner()).isEqualTo(Player.BLACK);
+    assertThat(renamed.getBlackRank()).isEqualTo(Rank.FLUSH);
+    assertThat(cache.getResultStatistics().getHits()).isEqualTo(1);
+
+    // same values, but the flush is broken: a different matchup
+    cache.evaluate(new String[] {"2H", "5H", "8H", "JH", "QD"}, mixed);
+    assertThat(cache.getResultStatistics().getMisses()).isEqualTo(2);
+  }
+
+  @Test
+  void evaluateNamesTheCardsOfTheCallerWhenSharingMatchups() {
+    final MatchupCache cache = cache(true);
+    // same pair, decided by the kicker: the reason names a card of each hand
+    final String[] black = {"4H", "4D", "9S", "7C", "KH"};
+    final String[] white = {"4C", "4S", "9H", "7D", "QS"};
+    // hearts and spades swapped, clubs and diamonds swapped
+    final String[] renamedBlack = {"4S", "4C", "9H", "7D", "KS"};
+    final String[] renamedWhite = {"4D", "4H", "9S", "7C", "QH"};
+
+    final GameResult first = cache.evaluate(black, white);
+    final GameResult renamed = cache.evaluate(renamedBlack, renamedWhite);
+
+    assertThat(cache.getResultStatistics().getHits()).isEqualTo(1);
+    assertThat(first).isEqualTo(new PokerGame(GameTracer.NO_OP).evaluate(black, white));
+    assertThat(renamed)
+        .isEqualTo(new PokerGame(GameTracer.NO_OP).evaluate(renamedBlack, renamedWhite));
+    assertThat(renamed.getBlackDecidingCard().getText()).isEqualTo("KS");
+    assertThat(renamed.getWhiteDecidingCard().getText()).isEqualTo("QH");
+  }
+
+  @Test
+  void evaluateEvictsBeyondTheMaximumSize() {
+    final MatchupCache cache = cache(false);
+    final String[] values = {"2", "3", "4", "5", "6", "7", "8", "9", "T", "J", "Q", "K", "A"};
+    for (int high = 5; high < values.length; high++)
+      cache.evaluate(
+          new String[] {"2H", "3H", "4H", "5H", values[high] + "C"},
+          new String[] {"2S", "3S", "4S", "5S", values[high] + "D"});
+    for (int high = 5; high < values.length; high++)
+      cache.evaluate(
+          new String[] {"2D", "3D", "4D", "5D", values[high] + "S"},
+          new String[] {"2C", "3C", "4C", "5C", values[high] + "H"});
+
+    assertThat(cache.getResultStatistics().getSize()).isLessThanOrEqualTo(16);
+    assertThat(cache.getResultStatistics().getEvictions()).isPositive();
+  }
+
+  @Test
+  void evaluateExceptionsBypassTheCache() {
+    final MatchupCache cache = cache(true);
+
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(
+            () -> cache.evaluate(FULL_HOUSE, new String[] {"2H", "8S", "AS", "QS", "3S"}))
+        .withMessage("Card [2H] exists in both hands!");
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(() -> cache.evaluate(FULL_HOUSE, new String[] {"2S", "8S", "AS", "QS"}))
+        .withMessage(
+            "Poker hand cannot be less than or greater than 5 cards! Size of hand parsed: [4]");
+    assertThat(cache.getResultStatistics().getMisses()).isZero();
+  }
+}
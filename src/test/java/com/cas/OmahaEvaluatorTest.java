@@ -0,0 +1,128 @@
+package com.cas;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static com.cas.TestCards.cardsOf;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class OmahaEvaluatorTest {
+
+  /** Best of the 60 combinations, each evaluated as a five card hand. */
+  private static int bestOfEveryCombination(final long holeCards, final long board) {
+    final int[] hole = new int[4];
+    final int[] shared = new int[5];
+    PackedCards.toCodes(holeCards, hole);
+    PackedCards.toCodes(board, shared);
+    int best = 0;
+    for (int i = 0; i < 4; i++)
+      for (int j = i + 1; j < 4; j++)
+        for (int k = 0; k < 5; k++)
+          for (int l = k + 1; l < 5; l++)
+            for (int m = l + 1; m < 5; m++)
+              best =
+                  Math.max(
+                      best,
+                      HandEvaluator.evaluate(hole[i], hole[j], shared[k], shared[l], shared[m]));
+    return best;
+  }
+
+  @Test
+  void evaluateMatchesEveryCombination() {
+    final SplittableRandom random = new SplittableRandom(5);
+    for (int deal = 0; deal < 20_000; deal++) {
+      long cards = 0;
+      while (Long.bitCount(cards) < 5 + 4 * 4)
+        cards |= PackedCards.maskOf(random.nextInt(PackedCards.NUMBER_OF_CARDS));
+
+      final int[] codes = new int[21];
+      PackedCards.toCodes(cards, codes);
+      // shuffle so that the board and the hands are not sorted apart
+      for (int i = codes.length - 1; i > 0; i--) {
+        final int j = random.nextInt(i + 1);
+        final int code = codes[i];
+        codes[i] = codes[j];
+        codes[j] = code;
+      }
+      long board = 0;
+      for (int i = 0; i < 5; i++) board |= PackedCards.maskOf(codes[i]);
+      final long[] hands = new long[4];
+      final int[] expected = new int[4];
+      for (int seat = 0; seat < 4; seat++) {
+        for (int i = 0; i < 4; i++) hands[seat] |= PackedCards.maskOf(codes[5 + seat * 4 + i]);
+        expected[seat] = bestOfEveryCombination(hands[seat], board);
+      }
+
+      final OmahaEvaluator.Board precomputed = OmahaEvaluator.board(board);
+      for (int seat = 0; seat < 4; seat++)
+        if (precomputed.evaluate(hands[seat]) != expected[seat])
+          assertThat(precomputed.evaluate(hands[seat]))
+              .as(Long.toHexString(hands[seat]) + " on " + Long.toHexString(board))
+              .isEqualTo(expected[seat]);
+      assertThat(precomputed.winners(hands))
+          .isEqualTo(Showdown.rank(expected).getWinners())
+          .isEqualTo(precomputed.showdown(hands).getWinners());
+    }
+  }
+
+  @Test
+  void evaluateUsesExactlyTwoHoleCards() {
+    final long board = cardsOf("2H", "5H", "8H", "JH", "KC");
+
+    // a single heart in the hand makes no flush, four aces make a pair
+    final int quadAces = OmahaEvaluator.evaluate(cardsOf("AH", "AC", "AD", "AS"), board);
+    final int twoHearts = OmahaEvaluator.evaluate(cardsOf("AH", "3H", "QD", "QS"), board);
+
+    assertThat(OmahaEvaluator.rankOf(quadAces)).isEqualTo(Rank.PAIR);
+    assertThat(OmahaEvaluator.rankOf(twoHearts)).isEqualTo(Rank.FLUSH);
+  }
+
+  @Test
+  void showdownRanksEveryPlayer() {
+    final OmahaEvaluator.Board board =
+        OmahaEvaluator.board(
+            List.of(Card.of("9S"), Card.of("9D"), Card.of("4C"), Card.of("TC"), Card.of("JC")));
+
+    final Showdown.Result result =
+        board.showdown(
+            cardsOf("QD", "KH", "2S", "3S"),
+            cardsOf("9C", "9H", "AD", "AS"),
+            cardsOf("QC", "KC", "2D", "3D"),
+            cardsOf("QH", "KS", "2H", "3H"));
+
+    assertThat(result.getRanking()).containsExactly(List.of(1), List.of(2), List.of(0, 3));
+    assertThat(result.getRank(1)).isEqualTo(Rank.FOUR_OF_A_KIND);
+    assertThat(result.getRank(2)).isEqualTo(Rank.FLUSH);
+    assertThat(result.getRank(0)).isEqualTo(Rank.STRAIGHT);
+  }
+
+  @Test
+  void evaluateExceptionCardOnTheBoard() {
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(
+            () ->
+                OmahaEvaluator.evaluate(
+                    cardsOf("2H", "AC", "AD", "AS"), cardsOf("2H", "5H", "8H", "JH", "KC")))
+        .withMessage("Card [2H] is both on the board and in a hand!");
+  }
+
+  @Test
+  void showdownExceptionCardInTwoHands() {
+    final OmahaEvaluator.Board board = OmahaEvaluator.board(cardsOf("2H", "5H", "8H", "JH", "KC"));
+
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(
+            () -> board.winners(cardsOf("AH", "AC", "AD", "AS"), cardsOf("AS", "3C", "4C", "6C")))
+        .withMessage("Card [AS] exists in more than one hand!");
+  }
+
+  @Test
+  void boardExceptionWrongNumberOfCards() {
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(() -> OmahaEvaluator.board(cardsOf("2H", "5H", "8H", "JH")))
+        .withMessage("Invalid Omaha board [24900000000]!");
+  }
+}
@@ -0,0 +1,79 @@
+package com.cas;
+
+import org.junit.jupiter.api.Test;
+
+import static com.cas.TestCards.cardsOf;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class OpponentAnalyzerTest {
+
+  @Test
+  void analyzeMatchesEveryDisjointHand() {
+    final long hand = cardsOf("7C", "7D", "KH", "9S", "2C");
+    final int strength = HandEvaluator.evaluate(hand);
+
+    // wins, ties and losses by rank ordinal, over every hand of the full enumeration that
+    // shares no card with the known hand
+    final long[] expected =
+        HandEnumerator.enumerate(
+            () -> new long[Rank.values().length * 3],
+            (partial, index, opponent, opponentStrength) -> {
+              if ((opponent & hand) != 0) return;
+              final int outcome =
+                  strength > opponentStrength ? 0 : strength == opponentStrength ? 1 : 2;
+              partial[HandEvaluator.rankOf(opponentStrength).ordinal() * 3 + outcome]++;
+            },
+            (left, right) -> {
+              for (int i = 0; i < left.length; i++) left[i] += right[i];
+              return left;
+            });
+
+    final OpponentAnalyzer.Report report = new OpponentAnalyzer().analyze(hand);
+
+    assertThat(report.getRank()).isEqualTo(Rank.PAIR);
+    assertThat(report.getStrength()).isEqualTo(strength);
+    for (Rank rank : Rank.values()) {
+      final OpponentAnalyzer.Outcomes outcomes = report.getByOpponentRank().get(rank);
+      assertThat(new long[] {outcomes.getWins(), outcomes.getTies(), outcomes.getLosses()})
+          .as(rank.name())
+          .containsExactly(
+              expected[rank.ordinal() * 3],
+              expected[rank.ordinal() * 3 + 1],
+              expected[rank.ordinal() * 3 + 2]);
+    }
+  }
+
+  @Test
+  void analyzeAgreesWithExactEquity() {
+    final Hand hand = Hand.newHand(new String[] {"2H", "3D", "5S", "9C", "KD"});
+
+    final OpponentAnalyzer.Outcomes total = new OpponentAnalyzer().analyze(hand).getTotal();
+    final ExactEquityCalculator.Counts counts =
+        new ExactEquityCalculator()
+            .calculate(EquitySimulator.codesOf(hand.getCards()), new int[0]);
+
+    assertThat(total.getOpponents()).isEqualTo(OpponentAnalyzer.NUMBER_OF_OPPONENTS);
+    assertThat(total.getWins()).isEqualTo(counts.getBlackWins());
+    assertThat(total.getTies()).isEqualTo(counts.getTies());
+    assertThat(total.getLosses()).isEqualTo(counts.getWhiteWins());
+  }
+
+  @Test
+  void analyzeRoyalFlush() {
+    final OpponentAnalyzer.Report report =
+        new OpponentAnalyzer().analyze(cardsOf("TS", "JS", "QS", "KS", "AS"));
+
+    assertThat(report.getTotal().getLosses()).isZero();
+    assertThat(report.getTotal().getTies()).isEqualTo(3);
+    assertThat(report.getByOpponentRank().get(Rank.STRAIGHT_FLUSH).getOpponents())
+        .isEqualTo(4 * 9 - 5);
+  }
+
+  @Test
+  void analyzeExceptionInvalidHand() {
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(() -> new OpponentAnalyzer().analyze(cardsOf("TS", "JS", "QS", "KS")))
+        .withMessage("Unable to evaluate hand [TS JS QS KS]!");
+  }
+}
@@ -0,0 +1,76 @@
+package com.cas;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class PackedCardsTest {
+
+  @Test
+  void codeMatchesCard() {
+    assertThat(new Card("2", "C").getCode()).isEqualTo(PackedCards.code(0, 0));
+    assertThat(new Card("T", "H").getCode()).isEqualTo(PackedCards.code(8, 2));
+    assertThat(new Card("A", "S").getCode()).isEqualTo(51);
+  }
+
+  @Test
+  void everyCodeRoundTripsThroughCard() {
+    for (int code = 0; code < PackedCards.NUMBER_OF_CARDS; code++) {
+      final Card card = PackedCards.toCard(code);
+
+      assertThat(card.getCode()).isEqualTo(code);
+      assertThat(card.getValueAsInt()).isEqualTo(PackedCards.valueIndexOf(code) + 2);
+      assertThat(card.getSuit().ordinal()).isEqualTo(PackedCards.suitIndexOf(code));
+      assertThat(PackedCards.lowestCode(PackedCards.maskOf(code))).isEqualTo(code);
+    }
+  }
+
+  @Test
+  void maskKeepsOneLanePerSuit() {
+    final long hand = PackedCards.toMask(Hand.newHand(new String[] {"2C", "AC", "2D", "KH", "AS"}));
+
+    assertThat(hand).isEqualTo(1L | 1L << 12 | 1L << 16 | 1L << 43 | 1L << 60);
+    assertThat(PackedCards.suitMask(hand, Suit.CLUBS.ordinal())).isEqualTo(0x1001);
+    assertThat(PackedCards.suitMask(hand, Suit.SPADES.ordinal())).isEqualTo(0x1000);
+    assertThat(PackedCards.valueMask(hand)).isEqualTo(0x1801);
+    assertThat(PackedCards.size(hand)).isEqualTo(5);
+  }
+
+  @Test
+  void handRoundTripsThroughMask() {
+    final Hand hand = Hand.newHand(new String[] {"2C", "3H", "4S", "KC", "AH"});
+
+    final Hand unpacked = PackedCards.toHand(PackedCards.toMask(hand));
+
+    assertThat(unpacked).isEqualTo(hand);
+    assertThat(unpacked.getStrength()).isEqualTo(HandEvaluator.evaluate(PackedCards.toMask(hand)));
+  }
+
+  @Test
+  void toCodesListsLowestFirst() {
+    final long hand = PackedCards.toMask(List.of(new Card("A", "S"), new Card("3", "C")));
+    final int[] codes = new int[5];
+
+    assertThat(PackedCards.toCodes(hand, codes)).isEqualTo(2);
+    assertThat(codes).startsWith(4, 51);
+  }
+
+  @Test
+  void toTextNamesTheCardsSuitBySuit() {
+    final long hand = PackedCards.toMask(List.of(new Card("A", "S"), new Card("3", "C")));
+
+    assertThat(PackedCards.toText(hand)).isEqualTo("3C AS");
+    assertThat(PackedCards.toText(hand | 1L << 13)).isEqualTo("3C AS 2000");
+    assertThat(PackedCards.toText(0)).isEmpty();
+  }
+
+  @Test
+  void toHandExceptionSize() {
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(() -> PackedCards.toHand(0xFL))
+        .withMessage("Unable to unpack hand [f] into 5 cards!");
+  }
+}
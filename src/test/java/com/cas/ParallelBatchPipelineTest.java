@@ -0,0 +1,157 @@
+package com.cas;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class ParallelBatchPipelineTest {
+
+  private static final int NUMBER_OF_GAMES = 2_000;
+
+  private static String games;
+  private static List<String> expected;
+
+  @BeforeAll
+  static void setUp(@TempDir final Path directory) throws IOException {
+    final Random random = new Random(7);
+    final StringBuilder lines = new StringBuilder();
+    for (int game = 0; game < NUMBER_OF_GAMES; game++) {
+      final List<Integer> deck = new ArrayList<>();
+      while (deck.size() < CardParser.CARDS_PER_GAME) {
+        final int code = random.nextInt(PackedCards.NUMBER_OF_CARDS);
+        if (!deck.contains(code)) deck.add(code);
+      }
+      lines.append("Black:");
+      for (int i = 0; i < deck.size(); i++) {
+        final Card card = Card.of(deck.get(i));
+        if (i == CardParser.CARDS_PER_HAND) lines.append("  White:");
+        lines.append(' ').append(card.getValue()).append(card.getSuit().getLetter());
+      }
+      lines.append(game % 100 == 0 ? "\r\n\n" : "\n");
+    }
+    games = lines.toString();
+
+    // BatchRunner is the single threaded reference
+    final Path input = directory.resolve("games.txt");
+    final Path output = directory.resolve("results.txt");
+    Files.writeString(input, games);
+    new BatchRunner().run(input, output);
+    expected = Files.readAllLines(output);
+  }
+
+  private static List<String> run(final ParallelBatchPipeline pipeline, final String input)
+      throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    final long played =
+        pipeline.run(
+            new ByteArrayInputStream(input.getBytes(StandardCharsets.US_ASCII)), output);
+
+    final List<String> results =
+        Arrays.asList(output.toString(StandardCharsets.US_ASCII).split("\n"));
+    assertThat(results).hasSize((int) played);
+    return results;
+  }
+
+  @Test
+  void runOrderedMatchesBatchRunner() throws IOException {
+    final ParallelBatchPipeline.Config config =
+        ParallelBatchPipeline.Config.builder()
+            .parallelism(4)
+            .chunkSize(1_000)
+            .maxChunksInFlight(3)
+            .build();
+
+    try (ParallelBatchPipeline pipeline = new ParallelBatchPipeline(config)) {
+      assertThat(run(pipeline, games)).hasSize(NUMBER_OF_GAMES).containsExactlyElementsOf(expected);
+    }
+  }
+
+  @Test
+  void runUnorderedWritesEveryResult() throws IOException {
+    final ParallelBatchPipeline.Config config =
+        ParallelBatchPipeline.Config.builder().parallelism(4).chunkSize(500).ordered(false).build();
+
+    try (ParallelBatchPipeline pipeline = new ParallelBatchPipeline(config)) {
+      assertThat(run(pipeline, games)).containsExactlyInAnyOrderElementsOf(expected);
+    }
+  }
+
+  @Test
+  void runWithoutTrailingNewline() throws IOException {
+    try (ParallelBatchPipeline pipeline = new ParallelBatchPipeline()) {
+      assertThat(run(pipeline, "Black: 2H 4S 4C 2D 4H  White: 2S 8S AS QS 3S"))
+          .containsExactly("Black wins.");
+    }
+  }
+
+  @Test
+  void statisticsCountEveryStage() throws IOException {
+    final ParallelBatchPipeline.Config config =
+        ParallelBatchPipeline.Config.builder().parallelism(2).chunkSize(4_096).build();
+
+    try (ParallelBatchPipeline pipeline = new ParallelBatchPipeline(config)) {
+      run(pipeline, games);
+      final ParallelBatchPipeline.Statistics statistics = pipeline.getStatistics();
+
+      assertThat(statistics.getBytesRead()).isEqualTo(games.length());
+      assertThat(statistics.getGamesEvaluated()).isEqualTo(NUMBER_OF_GAMES);
+      assertThat(statistics.getChunksRead())
+          .isGreaterThan(1)
+          .isEqualTo(statistics.getChunksEvaluated())
+          .isEqualTo(statistics.getChunksWritten());
+      assertThat(statistics.getBytesWritten())
+          .isEqualTo(expected.stream().mapToInt(result -> result.length() + 1).sum());
+      assertThat(statistics.getEvaluateNanos()).isPositive();
+    }
+  }
+
+  @Test
+  void runExceptionReportsLineNumber() {
+    final String input = games.substring(0, games.indexOf('\n') + 1) + "Black: 2H 3D\n";
+    final ParallelBatchPipeline.Config config =
+        ParallelBatchPipeline.Config.builder().chunkSize(50).build();
+
+    try (ParallelBatchPipeline pipeline = new ParallelBatchPipeline(config)) {
+      assertThatExceptionOfType(CardParseException.class)
+          .isThrownBy(() -> run(pipeline, input))
+          .withMessage(
+              "Unable to play line [2]! Expected [10] cards but found [2] at position [12]!");
+    }
+  }
+
+  @Test
+  void runExceptionLineLongerThanChunk() {
+    final ParallelBatchPipeline.Config config =
+        ParallelBatchPipeline.Config.builder().chunkSize(20).build();
+
+    try (ParallelBatchPipeline pipeline = new ParallelBatchPipeline(config)) {
+      assertThatExceptionOfType(RuntimeException.class)
+          .isThrownBy(() -> run(pipeline, games))
+          .withMessage("Line [1] is longer than the chunk size of [20] bytes!");
+    }
+  }
+
+  @Test
+  void constructorExceptionInvalidConfig() {
+    final ParallelBatchPipeline.Config config =
+        ParallelBatchPipeline.Config.builder().maxChunksInFlight(0).build();
+
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(() -> new ParallelBatchPipeline(config))
+        .withMessage("Invalid number of chunks in flight [0]!");
+  }
+}
@@ -4,8 +4,15 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 class PokerGameTest {
@@ -128,6 +135,46 @@ class PokerGameTest {
       assertThat(actualValue).isEqualTo(expectedValue);
       verify(POKER_GAME).handlePairs(any(Hand.class), any(Hand.class));
     }
+
+    @Test
+    void blackWinsFromHighestRemainingCardEvenThoughTotalValueIsLower() {
+      // K + 4 + 3 = 20 against Q + J + 5 = 28, but the king decides
+      String[] arrBlack = new String[] {"2D", "2S", "3D", "4H", "KS"};
+      String[] arrWhite = new String[] {"2C", "2H", "5C", "JD", "QS"};
+
+      String expectedValue =
+          "PLAYER [BLACK] WINS! REASON = BLACK wins with [KING of SPADES] over [QUEEN of SPADES]";
+
+      String actualValue = POKER_GAME.play(arrBlack, arrWhite);
+
+      assertThat(actualValue).isEqualTo(expectedValue);
+      verify(POKER_GAME).handlePairs(any(Hand.class), any(Hand.class));
+      verify(POKER_GAME, never()).explainWinBasedOnValues(any(), anyInt(), any(), anyInt());
+    }
+
+    @Test
+    void whiteWinsFromLastRemainingCardWhenTotalValuesMatch() {
+      String[] arrBlack = new String[] {"2D", "2S", "4D", "8H", "KS"};
+      String[] arrWhite = new String[] {"2C", "2H", "3C", "9D", "KC"};
+
+      String expectedValue =
+          "PLAYER [WHITE] WINS! REASON = WHITE wins with [NINE of DIAMONDS] over [EIGHT of HEARTS]";
+
+      String actualValue = POKER_GAME.play(arrBlack, arrWhite);
+
+      assertThat(actualValue).isEqualTo(expectedValue);
+    }
+
+    @Test
+    void tieWhenPairAndRemainingCardsMatch() {
+      String[] arrBlack = new String[] {"2D", "2S", "5D", "7H", "9S"};
+      String[] arrWhite = new String[] {"2C", "2H", "5C", "7D", "9C"};
+
+      String actualValue = POKER_GAME.play(arrBlack, arrWhite);
+
+      assertThat(actualValue).isEqualTo("TIE");
+      verify(POKER_GAME, never()).handlePairs(any(Hand.class), any(Hand.class));
+    }
   }
 
   @Nested
@@ -144,9 +191,7 @@ class PokerGameTest {
       String actualValue = POKER_GAME.play(arrBlack, arrWhite);
 
       assertThat(actualValue).isEqualTo(expectedValue);
-      verify(POKER_GAME, times(2)).getTotalValueFromCollection(anyCollection());
-      verify(POKER_GAME)
-          .setWinnerBasedOnValues(eq(Rank.TWO_PAIRS), anyInt(), eq(Rank.TWO_PAIRS), anyInt());
+      verify(POKER_GAME).explainWinBasedOnValues(Rank.TWO_PAIRS, 8, Rank.TWO_PAIRS, 6);
     }
 
     @Test
@@ -160,9 +205,7 @@ class PokerGameTest {
       String actualValue = POKER_GAME.play(arrBlack, arrWhite);
 
       assertThat(actualValue).isEqualTo(expectedValue);
-      verify(POKER_GAME, times(2)).getTotalValueFromCollection(anyCollection());
-      verify(POKER_GAME)
-          .setWinnerBasedOnValues(eq(Rank.TWO_PAIRS), anyInt(), eq(Rank.TWO_PAIRS), anyInt());
+      verify(POKER_GAME).explainWinBasedOnValues(Rank.TWO_PAIRS, 8, Rank.TWO_PAIRS, 10);
     }
 
     @Test
@@ -176,9 +219,8 @@ class PokerGameTest {
       String actualValue = POKER_GAME.play(arrBlack, arrWhite);
 
       assertThat(actualValue).isEqualTo(expectedValue);
-      verify(POKER_GAME, times(4)).getTotalValueFromCollection(anyCollection());
       verify(POKER_GAME)
-          .setWinnerBasedOnValues(eq(Rank.TWO_PAIRS), anyInt(), eq(Rank.TWO_PAIRS), anyInt());
+          .explainWinBasedOnValues(eq(Rank.TWO_PAIRS), eq(6), eq(Rank.TWO_PAIRS), eq(4));
     }
 
     @Test
@@ -192,9 +234,8 @@ class PokerGameTest {
       String actualValue = POKER_GAME.play(arrBlack, arrWhite);
 
       assertThat(actualValue).isEqualTo(expectedValue);
-      verify(POKER_GAME, times(4)).getTotalValueFromCollection(anyCollection());
       verify(POKER_GAME)
-          .setWinnerBasedOnValues(eq(Rank.TWO_PAIRS), anyInt(), eq(Rank.TWO_PAIRS), anyInt());
+          .explainWinBasedOnValues(eq(Rank.TWO_PAIRS), eq(4), eq(Rank.TWO_PAIRS), eq(6));
     }
 
     @Test
@@ -208,10 +249,9 @@ class PokerGameTest {
       String actualValue = POKER_GAME.play(arrBlack, arrWhite);
 
       assertThat(actualValue).isEqualTo(expectedValue);
-      verify(POKER_GAME, times(4)).getTotalValueFromCollection(anyCollection());
-      verify(POKER_GAME).setWinnerBasedOnHighCards(any(Card.class), any(Card.class));
+      verify(POKER_GAME).explainWinBasedOnHighCards(any(Card.class), any(Card.class));
       verify(POKER_GAME, never())
-          .setWinnerBasedOnValues(eq(Rank.TWO_PAIRS), anyInt(), eq(Rank.TWO_PAIRS), anyInt());
+          .explainWinBasedOnValues(eq(Rank.TWO_PAIRS), anyInt(), eq(Rank.TWO_PAIRS), anyInt());
     }
 
     @Test
@@ -225,10 +265,20 @@ class PokerGameTest {
       String actualValue = POKER_GAME.play(arrBlack, arrWhite);
 
       assertThat(actualValue).isEqualTo(expectedValue);
-      verify(POKER_GAME, times(4)).getTotalValueFromCollection(anyCollection());
-      verify(POKER_GAME).setWinnerBasedOnHighCards(any(Card.class), any(Card.class));
+      verify(POKER_GAME).explainWinBasedOnHighCards(any(Card.class), any(Card.class));
       verify(POKER_GAME, never())
-          .setWinnerBasedOnValues(eq(Rank.TWO_PAIRS), anyInt(), eq(Rank.TWO_PAIRS), anyInt());
+          .explainWinBasedOnValues(eq(Rank.TWO_PAIRS), anyInt(), eq(Rank.TWO_PAIRS), anyInt());
+    }
+
+    @Test
+    void tieWhenBothPairsAndLastCardMatch() {
+      String[] arrBlack = new String[] {"3H", "3S", "4S", "4C", "AD"};
+      String[] arrWhite = new String[] {"3C", "3D", "4D", "4H", "AH"};
+
+      String actualValue = POKER_GAME.play(arrBlack, arrWhite);
+
+      assertThat(actualValue).isEqualTo("TIE");
+      verify(POKER_GAME, never()).explainWinBasedOnHighCards(any(Card.class), any(Card.class));
     }
   }
 
@@ -246,8 +296,8 @@ class PokerGameTest {
 
       assertThat(actualValue).isEqualTo(expectedValue);
       verify(POKER_GAME, never())
-          .determineAndSetWinnerBasedOnCardsValues(
-              eq(Rank.STRAIGHT_FLUSH), anyList(), eq(Rank.STRAIGHT_FLUSH), anyList());
+          .explainWinBasedOnValues(
+              eq(Rank.STRAIGHT_FLUSH), anyInt(), eq(Rank.STRAIGHT_FLUSH), anyInt());
     }
 
     @Test
@@ -261,8 +311,8 @@ class PokerGameTest {
 
       assertThat(actualValue).isEqualTo(expectedValue);
       verify(POKER_GAME, never())
-          .determineAndSetWinnerBasedOnCardsValues(
-              eq(Rank.STRAIGHT_FLUSH), anyList(), eq(Rank.STRAIGHT_FLUSH), anyList());
+          .explainWinBasedOnValues(
+              eq(Rank.STRAIGHT_FLUSH), anyInt(), eq(Rank.STRAIGHT_FLUSH), anyInt());
     }
 
     @Test
@@ -276,8 +326,7 @@ class PokerGameTest {
 
       assertThat(actualValue).isEqualTo(expectedValue);
       verify(POKER_GAME, never())
-          .determineAndSetWinnerBasedOnCardsValues(
-              eq(Rank.FLUSH), anyList(), eq(Rank.FLUSH), anyList());
+          .explainWinBasedOnValues(eq(Rank.FLUSH), anyInt(), eq(Rank.FLUSH), anyInt());
     }
 
     @Test
@@ -291,8 +340,7 @@ class PokerGameTest {
 
       assertThat(actualValue).isEqualTo(expectedValue);
       verify(POKER_GAME, never())
-          .determineAndSetWinnerBasedOnCardsValues(
-              eq(Rank.FLUSH), anyList(), eq(Rank.FLUSH), anyList());
+          .explainWinBasedOnValues(eq(Rank.FLUSH), anyInt(), eq(Rank.FLUSH), anyInt());
     }
 
     @Test
@@ -306,8 +354,7 @@ class PokerGameTest {
 
       assertThat(actualValue).isEqualTo(expectedValue);
       verify(POKER_GAME, never())
-          .determineAndSetWinnerBasedOnCardsValues(
-              eq(Rank.STRAIGHT), anyList(), eq(Rank.STRAIGHT), anyList());
+          .explainWinBasedOnValues(eq(Rank.STRAIGHT), anyInt(), eq(Rank.STRAIGHT), anyInt());
     }
 
     @Test
@@ -321,8 +368,7 @@ class PokerGameTest {
 
       assertThat(actualValue).isEqualTo(expectedValue);
       verify(POKER_GAME, never())
-          .determineAndSetWinnerBasedOnCardsValues(
-              eq(Rank.STRAIGHT), anyList(), eq(Rank.STRAIGHT), anyList());
+          .explainWinBasedOnValues(eq(Rank.STRAIGHT), anyInt(), eq(Rank.STRAIGHT), anyInt());
     }
 
     @Test
@@ -335,11 +381,42 @@ class PokerGameTest {
       String actualValue = POKER_GAME.play(arrBlack, arrWhite);
 
       assertThat(actualValue).isEqualTo(expectedValue);
-      verify(POKER_GAME).setWinnerBasedOnHighCardHandComparison(any(Hand.class), any(Hand.class));
-      verify(POKER_GAME, never()).setWinnerFromBooleanWithWinCondition(anyBoolean(), anyString());
       verify(POKER_GAME, never())
-          .determineAndSetWinnerBasedOnCardsValues(
-              eq(Rank.STRAIGHT), anyList(), eq(Rank.STRAIGHT), anyList());
+          .explainWinBasedOnHighCardHandComparison(any(Hand.class), any(Hand.class));
+      verify(POKER_GAME, never())
+          .explainWinBasedOnValues(eq(Rank.STRAIGHT), anyInt(), eq(Rank.STRAIGHT), anyInt());
+    }
+
+    @Test
+    void blackWinsWhenTopThreeCardsMatchAndFourthDiffers() {
+      // used to fail while looking for the next highest card once both hands had equal top cards
+      String[] arrBlack = new String[] {"4S", "AS", "KS", "9C", "8H"};
+      String[] arrWhite = new String[] {"2S", "5S", "AD", "9S", "KC"};
+
+      String expectedValue = "PLAYER [BLACK] WINS! REASON = HIGH CARD: [EIGHT]";
+
+      String actualValue = POKER_GAME.play(arrBlack, arrWhite);
+
+      assertThat(actualValue).isEqualTo(expectedValue);
+    }
+
+    @Test
+    void compareAndGetHighCardFromHandsAllocatesNothing() {
+      PokerGame game = new PokerGame(GameTracer.NO_OP);
+      Hand blackHand = Hand.newHand(new String[] {"4S", "AS", "KS", "9C", "8H"});
+      Hand whiteHand = Hand.newHand(new String[] {"2S", "5S", "AD", "9S", "KC"});
+      com.sun.management.ThreadMXBean threads =
+          (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+      long threadId = Thread.currentThread().getId();
+      int calls = 100_000;
+
+      for (int i = 0; i < calls; i++) game.compareAndGetHighCardFromHands(blackHand, whiteHand);
+      long before = threads.getThreadAllocatedBytes(threadId);
+      for (int i = 0; i < calls; i++) game.compareAndGetHighCardFromHands(blackHand, whiteHand);
+      long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+
+      // a single list copy per call would be well over this
+      assertThat(allocated / (double) calls).isLessThan(1);
     }
   }
 
@@ -358,8 +435,7 @@ class PokerGameTest {
 
       assertThat(actualValue).isEqualTo(expectedValue);
       verify(POKER_GAME)
-          .determineAndSetWinnerBasedOnCardsValues(
-              eq(Rank.FULL_HOUSE), anyList(), eq(Rank.FULL_HOUSE), anyList());
+          .explainWinBasedOnValues(eq(Rank.FULL_HOUSE), anyInt(), eq(Rank.FULL_HOUSE), anyInt());
     }
 
     @Test
@@ -374,8 +450,7 @@ class PokerGameTest {
 
       assertThat(actualValue).isEqualTo(expectedValue);
       verify(POKER_GAME)
-          .determineAndSetWinnerBasedOnCardsValues(
-              eq(Rank.FULL_HOUSE), anyList(), eq(Rank.FULL_HOUSE), anyList());
+          .explainWinBasedOnValues(eq(Rank.FULL_HOUSE), anyInt(), eq(Rank.FULL_HOUSE), anyInt());
     }
   }
 
@@ -394,8 +469,8 @@ class PokerGameTest {
 
       assertThat(actualValue).isEqualTo(expectedValue);
       verify(POKER_GAME)
-          .determineAndSetWinnerBasedOnCardsValues(
-              eq(Rank.FOUR_OF_A_KIND), anyList(), eq(Rank.FOUR_OF_A_KIND), anyList());
+          .explainWinBasedOnValues(
+              eq(Rank.FOUR_OF_A_KIND), anyInt(), eq(Rank.FOUR_OF_A_KIND), anyInt());
     }
 
     @Test
@@ -410,8 +485,8 @@ class PokerGameTest {
 
       assertThat(actualValue).isEqualTo(expectedValue);
       verify(POKER_GAME)
-          .determineAndSetWinnerBasedOnCardsValues(
-              eq(Rank.FOUR_OF_A_KIND), anyList(), eq(Rank.FOUR_OF_A_KIND), anyList());
+          .explainWinBasedOnValues(
+              eq(Rank.FOUR_OF_A_KIND), anyInt(), eq(Rank.FOUR_OF_A_KIND), anyInt());
     }
   }
 
@@ -430,8 +505,8 @@ class PokerGameTest {
 
       assertThat(actualValue).isEqualTo(expectedValue);
       verify(POKER_GAME)
-          .determineAndSetWinnerBasedOnCardsValues(
-              eq(Rank.THREE_OF_A_KIND), anyList(), eq(Rank.THREE_OF_A_KIND), anyList());
+          .explainWinBasedOnValues(
+              eq(Rank.THREE_OF_A_KIND), anyInt(), eq(Rank.THREE_OF_A_KIND), anyInt());
     }
 
     @Test
@@ -446,8 +521,125 @@ class PokerGameTest {
 
       assertThat(actualValue).isEqualTo(expectedValue);
       verify(POKER_GAME)
-          .determineAndSetWinnerBasedOnCardsValues(
-              eq(Rank.THREE_OF_A_KIND), anyList(), eq(Rank.THREE_OF_A_KIND), anyList());
+          .explainWinBasedOnValues(
+              eq(Rank.THREE_OF_A_KIND), anyInt(), eq(Rank.THREE_OF_A_KIND), anyInt());
+    }
+  }
+
+  @Nested
+  class EvaluateTests {
+
+    @Test
+    void resultCarriesRanksAndDecidingCards() {
+      String[] arrBlack = new String[] {"2H", "3D", "5S", "9C", "KD"};
+      String[] arrWhite = new String[] {"2C", "3H", "4S", "8C", "KH"};
+
+      GameResult result = POKER_GAME.evaluate(arrBlack, arrWhite);
+
+      assertThat(result.getWinner()).isEqualTo(Player.BLACK);
+      assertThat(result.isTie()).isFalse();
+      assertThat(result.getBlackRank()).isEqualTo(Rank.HIGH_CARD);
+      assertThat(result.getWhiteRank()).isEqualTo(Rank.HIGH_CARD);
+      assertThat(result.getBlackDecidingCard()).isEqualTo(Card.of("9C"));
+      assertThat(result.getWhiteDecidingCard()).isEqualTo(Card.of("8C"));
+      assertThat(result.getWinningCondition()).isEqualTo("HIGH CARD: [NINE]");
+    }
+
+    @Test
+    void resultHasNoDecidingCardsWhenRanksDecide() {
+      String[] arrBlack = new String[] {"2H", "4S", "4C", "2D", "4H"};
+      String[] arrWhite = new String[] {"2S", "3S", "8S", "QS", "AS"};
+
+      GameResult result = POKER_GAME.evaluate(arrBlack, arrWhite);
+
+      assertThat(result.getWinner()).isEqualTo(Player.BLACK);
+      assertThat(result.getBlackRank()).isEqualTo(Rank.FULL_HOUSE);
+      assertThat(result.getWhiteRank()).isEqualTo(Rank.FLUSH);
+      assertThat(result.getBlackDecidingCard()).isNull();
+      assertThat(result.getWhiteDecidingCard()).isNull();
+    }
+
+    @Test
+    void sameInstanceReportsTieAfterAWin() {
+      String[] arrBlack = new String[] {"2H", "3D", "5S", "9C", "KD"};
+
+      assertThat(POKER_GAME.play(arrBlack, new String[] {"2C", "3H", "4S", "8C", "AH"}))
+          .isEqualTo("PLAYER [WHITE] WINS! REASON = HIGH CARD: [ACE]");
+      assertThat(POKER_GAME.play(arrBlack, new String[] {"2D", "3H", "5C", "9S", "KH"}))
+          .isEqualTo("TIE");
+    }
+
+    @Test
+    void sameInstanceCanBeSharedAcrossThreads() {
+      PokerGame sharedGame = new PokerGame();
+      String[][] blackHands = {
+        {"2H", "3D", "5S", "9C", "KD"},
+        {"2H", "4S", "4C", "2D", "4H"},
+        {"2C", "2H", "5C", "7D", "9S"}
+      };
+      String[][] whiteHands = {
+        {"2C", "3H", "4S", "8C", "AH"},
+        {"2S", "3S", "8S", "QS", "AS"},
+        {"2D", "2S", "5D", "QH", "TS"}
+      };
+      List<String> expected = new ArrayList<>();
+      for (int i = 0; i < blackHands.length; i++)
+        expected.add(sharedGame.play(blackHands[i], whiteHands[i]));
+
+      List<String> actual =
+          IntStream.range(0, 3_000)
+              .parallel()
+              .mapToObj(i -> sharedGame.play(blackHands[i % 3], whiteHands[i % 3]))
+              .collect(Collectors.toList());
+
+      for (int i = 0; i < actual.size(); i++)
+        assertThat(actual.get(i)).isEqualTo(expected.get(i % 3));
+    }
+  }
+
+  @Nested
+  class TracerTests {
+
+    private final String[] arrBlack = new String[] {"2H", "3D", "5S", "9C", "KD"};
+    private final String[] arrWhite = new String[] {"2C", "3H", "4S", "8C", "KH"};
+
+    @Test
+    void tracerReceivesEveryComparisonStep() {
+      GameTracer tracer = mock(GameTracer.class);
+
+      new PokerGame(tracer).play(arrBlack, arrWhite);
+
+      verify(tracer).strengthsCompared(any(Hand.class), any(Hand.class), eq(1));
+      verify(tracer).highCardsCompared(Card.of("KD"), Card.of("KH"), 0);
+      verify(tracer).highCardsCompared(Card.of("9C"), Card.of("8C"), 1);
+      verifyNoMoreInteractions(tracer);
+    }
+
+    @Test
+    void withTracerOnlyTracesThatGame() {
+      GameTracer tracer = mock(GameTracer.class);
+      PokerGame untracedGame = new PokerGame(GameTracer.NO_OP);
+
+      untracedGame.withTracer(tracer).play(arrBlack, arrWhite);
+      untracedGame.play(arrBlack, arrWhite);
+
+      verify(tracer).strengthsCompared(any(Hand.class), any(Hand.class), anyInt());
+    }
+
+    @Test
+    void printStreamTracerWritesSteps() {
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      GameTracer tracer = new PrintStreamGameTracer(new PrintStream(out, true));
+
+      new PokerGame(tracer)
+          .play(
+              new String[] {"3C", "3D", "3S", "5C", "5D"},
+              new String[] {"2C", "2D", "2S", "5H", "5S"});
+
+      assertThat(out.toString().split(System.lineSeparator()))
+          .containsExactly(
+              "Black strength [7156] White strength [7144] Compare Value [1]",
+              "Black hand value [9] White hand value [6]");
     }
   }
 }
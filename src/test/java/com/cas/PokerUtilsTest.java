@@ -2,6 +2,7 @@ package com.cas;
 
 import org.junit.jupiter.api.Test;
 
+import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 
 class PokerUtilsTest {
@@ -15,4 +16,23 @@ class PokerUtilsTest {
         .isThrownBy(() -> PokerUtils.validateCardsInput(inputBlack, inputWhite))
         .withMessage("Card [5S] exists in both hands!");
   }
+
+  @Test
+  void validateHandsThrowsExceptionForAnyPairOfHands() {
+    String[] first = new String[] {"2H", "3D", "5S", "9C", "KD"};
+    String[] second = new String[] {"2C", "3H", "4S", "8C", "AH"};
+    String[] third = new String[] {"6S", "6C", "kd", "TS", "TC"};
+
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(() -> PokerUtils.validateHands(first, second, third))
+        .withMessage("Card [kd] exists in more than one hand!");
+  }
+
+  @Test
+  void validateHandsLeavesRepeatsWithinAHandToHand() {
+    String[] first = new String[] {"2H", "2H", "5S", "9C", "KD"};
+    String[] second = new String[] {"2C", "3H", "4S", "8C", "AH"};
+
+    assertThatCode(() -> PokerUtils.validateHands(first, second)).doesNotThrowAnyException();
+  }
 }
@@ -0,0 +1,134 @@
+package com.cas;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static com.cas.TestCards.cardsOf;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class SevenCardEvaluatorTest {
+
+  private static long randomHand(final SplittableRandom random, final int size) {
+    long hand = 0;
+    while (Long.bitCount(hand) < size)
+      hand |= PackedCards.maskOf(random.nextInt(PackedCards.NUMBER_OF_CARDS));
+    return hand;
+  }
+
+  /** Best strength of every five card subset, the way a caller would do it without this class. */
+  private static int bestOfEveryFive(final long hand) {
+    final int[] codes = new int[7];
+    final int size = PackedCards.toCodes(hand, codes);
+    int best = 0;
+    for (int drop = 0; drop < 1 << size; drop++) {
+      if (Integer.bitCount(drop) != size - 5) continue;
+      long five = 0;
+      for (int i = 0; i < size; i++)
+        if ((drop & 1 << i) == 0) five |= PackedCards.maskOf(codes[i]);
+      best = Math.max(best, HandEvaluator.evaluate(five));
+    }
+    return best;
+  }
+
+  @Test
+  void evaluateFiveCardsLikeHandEvaluator() {
+    HandEnumerator.enumerateRange(
+        0,
+        HandEnumerator.NUMBER_OF_HANDS,
+        null,
+        (partial, index, hand, strength) -> {
+          if (SevenCardEvaluator.evaluate(hand) != strength)
+            assertThat(SevenCardEvaluator.evaluate(hand))
+                .as(Long.toHexString(hand))
+                .isEqualTo(strength);
+        });
+  }
+
+  @Test
+  void evaluateSixAndSevenCardsAsTheBestFive() {
+    final SplittableRandom random = new SplittableRandom(3);
+    for (int i = 0; i < 300_000; i++) {
+      final long hand = randomHand(random, 6 + i % 2);
+      final int expected = bestOfEveryFive(hand);
+      if (SevenCardEvaluator.evaluate(hand) != expected)
+        assertThat(SevenCardEvaluator.evaluate(hand))
+            .as(Long.toHexString(hand))
+            .isEqualTo(expected);
+    }
+  }
+
+  @Test
+  void evaluateHoldemHands() {
+    // flush on the board beats the straight made with the hole cards
+    final int flush =
+        SevenCardEvaluator.evaluate(cardsOf("2H", "5H", "8H", "JH", "QH", "9C", "TD"));
+    final int fullHouse =
+        SevenCardEvaluator.evaluate(cardsOf("QC", "QD", "QS", "4H", "4C", "4D", "2C"));
+    final int quads =
+        SevenCardEvaluator.evaluate(cardsOf("7C", "7D", "7H", "7S", "AC", "AD", "AH"));
+
+    assertThat(SevenCardEvaluator.rankOf(flush)).isEqualTo(Rank.FLUSH);
+    assertThat(SevenCardEvaluator.rankOf(fullHouse)).isEqualTo(Rank.FULL_HOUSE);
+    assertThat(SevenCardEvaluator.rankOf(quads)).isEqualTo(Rank.FOUR_OF_A_KIND);
+    assertThat(flush).isLessThan(fullHouse).isLessThan(quads);
+    assertThat(fullHouse).isEqualTo(HandEvaluator.evaluate(cardsOf("QC", "QD", "QS", "4H", "4C")));
+  }
+
+  @Test
+  void evaluateCodesRejectsTheSameCardTwice() {
+    final int aceOfSpades = Card.of("AS").getCode();
+
+    assertThat(SevenCardEvaluator.evaluate(0, 4, 8, 12, 17, 21, aceOfSpades)).isPositive();
+    assertThat(SevenCardEvaluator.evaluate(0, 4, 8, 12, 17, 21, 21)).isZero();
+    assertThat(SevenCardEvaluator.evaluate(0xFL)).isZero();
+    assertThat(SevenCardEvaluator.evaluate(0xFFL)).isZero();
+  }
+
+  @Test
+  void bestFiveRecoversTheCardsUsed() {
+    final long hand = cardsOf("9C", "TD", "2H", "JS", "QH", "KC", "2S");
+
+    final long bestFive = SevenCardEvaluator.bestFive(hand);
+
+    assertThat(PackedCards.toCards(bestFive))
+        .extracting(Card::toString)
+        .containsExactlyInAnyOrder(
+            "[NINE of CLUBS]", "[TEN of DIAMONDS]", "[JACK of SPADES]", "[QUEEN of HEARTS]",
+            "[KING of CLUBS]");
+    assertThat(HandEvaluator.evaluate(bestFive)).isEqualTo(SevenCardEvaluator.evaluate(hand));
+  }
+
+  @Test
+  void bestFiveOfRandomHands() {
+    final SplittableRandom random = new SplittableRandom(5);
+    for (int i = 0; i < 10_000; i++) {
+      final long hand = randomHand(random, 7);
+      final long bestFive = SevenCardEvaluator.bestFive(hand);
+
+      assertThat(bestFive & ~hand).isZero();
+      assertThat(Long.bitCount(bestFive)).isEqualTo(5);
+      assertThat(HandEvaluator.evaluate(bestFive)).isEqualTo(SevenCardEvaluator.evaluate(hand));
+    }
+  }
+
+  @Test
+  void evaluateExceptionTooManyCards() {
+    final List<Card> cards = new ArrayList<>();
+    for (int code = 0; code < 8; code++) cards.add(Card.of(code));
+
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(() -> SevenCardEvaluator.evaluate(cards))
+        .withMessage("Unable to evaluate a hand of [8] cards!");
+  }
+
+  @Test
+  void bestFiveExceptionTooFewCards() {
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(() -> SevenCardEvaluator.bestFive(cardsOf("2H", "5H", "8H", "JH")))
+        .withMessage("Unable to evaluate hand [2H 5H 8H JH]!");
+  }
+}
@@ -0,0 +1,114 @@
+package com.cas;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class ShowdownTest {
+
+  private static final String[] HIGH_CARD_KING = {"2H", "3D", "5S", "9C", "KD"};
+  private static final String[] HIGH_CARD_ACE = {"2C", "3H", "4S", "8C", "AH"};
+  private static final String[] FULL_HOUSE = {"6S", "6C", "6D", "TS", "TC"};
+  private static final String[] OTHER_HIGH_CARD_KING = {"2D", "3C", "5C", "9S", "KH"};
+
+  @Test
+  void evaluateOrdersEverySeat() {
+    final Showdown.Result result =
+        Showdown.evaluate(HIGH_CARD_KING, HIGH_CARD_ACE, FULL_HOUSE, OTHER_HIGH_CARD_KING);
+
+    assertThat(result.getRanking()).containsExactly(List.of(2), List.of(1), List.of(0, 3));
+    assertThat(result.getWinners()).containsExactly(2);
+    assertThat(result.isSplitPot()).isFalse();
+    assertThat(result.getRank(2)).isEqualTo(Rank.FULL_HOUSE);
+    assertThat(result.getStrength(2)).isEqualTo(Hand.newHand(FULL_HOUSE).getStrength());
+    assertThat(result.getPlace(3)).isEqualTo(3);
+  }
+
+  @Test
+  void getStrengthsIsACopy() {
+    final Showdown.Result result = Showdown.evaluate(HIGH_CARD_KING, HIGH_CARD_ACE);
+
+    result.getStrengths()[0] = 0;
+
+    assertThat(result.getStrength(0)).isEqualTo(Hand.newHand(HIGH_CARD_KING).getStrength());
+  }
+
+  @Test
+  void evaluateSplitsThePotBetweenEqualHands() {
+    final Showdown.Result result = Showdown.evaluate(HIGH_CARD_KING, OTHER_HIGH_CARD_KING);
+
+    assertThat(result.getWinners()).containsExactly(0, 1);
+    assertThat(result.isSplitPot()).isTrue();
+    assertThat(result.getRanking()).hasSize(1);
+  }
+
+  @Test
+  void evaluateAgreesWithPokerGameForTwoHands() {
+    final Showdown.Result result = Showdown.evaluate(HIGH_CARD_KING, HIGH_CARD_ACE);
+
+    assertThat(new PokerGame().evaluate(HIGH_CARD_KING, HIGH_CARD_ACE).getWinner())
+        .isEqualTo(Player.WHITE);
+    assertThat(result.getWinners()).containsExactly(1);
+  }
+
+  @Test
+  void evaluateHandsAndPackedHandsAlike() {
+    final List<Hand> hands =
+        List.of(
+            Hand.newHand(HIGH_CARD_KING), Hand.newHand(HIGH_CARD_ACE), Hand.newHand(FULL_HOUSE));
+    final long[] packed = hands.stream().mapToLong(PackedCards::toMask).toArray();
+
+    assertThat(Showdown.evaluate(packed))
+        .isEqualTo(Showdown.evaluate(hands))
+        .isEqualTo(Showdown.evaluate(HIGH_CARD_KING, HIGH_CARD_ACE, FULL_HOUSE));
+  }
+
+  @Test
+  void evaluateTenHands() {
+    final long[] hands = new long[Showdown.MAX_HANDS];
+    for (int seat = 0; seat < hands.length; seat++)
+      for (int card = 0; card < 5; card++) hands[seat] |= PackedCards.maskOf(seat * 5 + card);
+
+    final Showdown.Result result = Showdown.evaluate(hands);
+
+    assertThat(result.getStrengths()).hasSize(10);
+    assertThat(result.getRanking().stream().mapToInt(List::size).sum()).isEqualTo(10);
+  }
+
+  @Test
+  void evaluateExceptionCardInTwoHands() {
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(
+            () -> Showdown.evaluate(HIGH_CARD_KING, HIGH_CARD_ACE, new String[] {"4S", "4C", "4H"}))
+        .withMessage("Card [4S] exists in more than one hand!");
+  }
+
+  @Test
+  void evaluateExceptionTooFewHands() {
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(() -> Showdown.evaluate(new long[] {0x1FL}))
+        .withMessage("A showdown needs between [2] and [10] hands but got [1]!");
+  }
+
+  @Test
+  void evaluateExceptionPackedHandOfFourCards() {
+    final long[] hands = {PackedCards.toMask(Hand.newHand(HIGH_CARD_ACE)), 0xFL << 16};
+
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(() -> Showdown.evaluate(hands))
+        .withMessage("Unable to evaluate hand [2D 3D 4D 5D]!");
+  }
+
+  @Test
+  void evaluateExceptionSharedPackedCard() {
+    final long[] hands = {PackedCards.toMask(Hand.newHand(HIGH_CARD_KING)), 0};
+    hands[1] = PackedCards.toMask(Hand.newHand(new String[] {"2H", "3C", "5C", "9S", "KH"}));
+
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(() -> Showdown.evaluate(hands))
+        .withMessage("Card [2H] exists in more than one hand!");
+  }
+}
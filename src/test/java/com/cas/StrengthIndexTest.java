@@ -0,0 +1,77 @@
+package com.cas;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static com.cas.TestCards.cardsOf;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.within;
+
+class StrengthIndexTest {
+
+  @Test
+  void ofRoyalFlush() {
+    final StrengthIndex.Entry entry = StrengthIndex.ofPacked(cardsOf("TS", "JS", "QS", "KS", "AS"));
+
+    assertThat(entry.getRank()).isEqualTo(Rank.STRAIGHT_FLUSH);
+    assertThat(entry.getClassRank()).isEqualTo(1);
+    assertThat(entry.getHandsTied()).isEqualTo(4);
+    assertThat(entry.getHandsBeating()).isZero();
+    assertThat(entry.getHandsBeaten()).isEqualTo(HandEnumerator.NUMBER_OF_HANDS - 4);
+  }
+
+  @Test
+  void ofWeakestHand() {
+    final StrengthIndex.Entry entry =
+        StrengthIndex.of(Hand.newHand(new String[] {"2H", "3D", "4S", "5C", "7D"}));
+
+    assertThat(entry.getStrength()).isEqualTo(1);
+    assertThat(entry.getClassRank()).isEqualTo(HandEvaluator.NUMBER_OF_EQUIVALENCE_CLASSES);
+    assertThat(entry.getHandsBeaten()).isZero();
+    assertThat(entry.getHandsTied()).isEqualTo(1020);
+    assertThat(entry.getPercentile()).isCloseTo(100.0 * 510 / 2_598_960, within(1e-12));
+  }
+
+  @Test
+  void ofEveryStrengthAddsUpToEveryHand() {
+    final Map<Rank, Long> countByRank = HandEnumerator.countByRank();
+    double previousPercentile = 0;
+    for (int strength = 1; strength <= HandEvaluator.NUMBER_OF_EQUIVALENCE_CLASSES; strength++) {
+      final StrengthIndex.Entry entry = StrengthIndex.ofStrength(strength);
+      assertThat(entry.getHandsBeaten() + entry.getHandsTied() + entry.getHandsBeating())
+          .isEqualTo(HandEnumerator.NUMBER_OF_HANDS);
+      assertThat(entry.getPercentile()).isGreaterThan(previousPercentile);
+      previousPercentile = entry.getPercentile();
+    }
+
+    // the best pair is beaten by exactly the hands of every rank above pairs
+    final StrengthIndex.Entry bestPair =
+        StrengthIndex.ofPacked(cardsOf("AH", "AD", "KS", "QC", "JD"));
+    assertThat(bestPair.getHandsBeating())
+        .isEqualTo(
+            HandEnumerator.NUMBER_OF_HANDS
+                - countByRank.get(Rank.HIGH_CARD)
+                - countByRank.get(Rank.PAIR));
+  }
+
+  @Test
+  void ofIsTheSameInstanceForTheSameClass() {
+    assertThat(StrengthIndex.ofPacked(cardsOf("2H", "2D", "9S", "8C", "7D")))
+        .isSameAs(StrengthIndex.ofPacked(cardsOf("2C", "2S", "9H", "8D", "7C")));
+  }
+
+  @Test
+  void ofExceptionInvalidHand() {
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(() -> StrengthIndex.ofPacked(cardsOf("2H", "2D", "9S", "8C")))
+        .withMessage("Unable to evaluate hand [8C 2D 2H 9S]!");
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(() -> StrengthIndex.ofStrength(0))
+        .withMessage("Invalid hand strength [0]!");
+    assertThatExceptionOfType(RuntimeException.class)
+        .isThrownBy(() -> StrengthIndex.ofPacked(0))
+        .withMessage("Unable to evaluate hand []!");
+  }
+}
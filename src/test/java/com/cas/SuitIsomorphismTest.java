@@ -0,0 +1,113 @@
+package com.cas;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static com.cas.TestCards.cardsOf;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SuitIsomorphismTest {
+
+  /** Applies a permutation of the suits: lane s moves to lane permutation[s]. */
+  private static long rename(final long hand, final int[] permutation) {
+    long renamed = 0;
+    for (int suit = 0; suit < 4; suit++)
+      renamed |= (long) PackedCards.suitMask(hand, suit) << (permutation[suit] * 16);
+    return renamed;
+  }
+
+  private static List<int[]> permutations() {
+    final List<int[]> permutations = new ArrayList<>();
+    for (int a = 0; a < 4; a++)
+      for (int b = 0; b < 4; b++)
+        for (int c = 0; c < 4; c++)
+          for (int d = 0; d < 4; d++)
+            if ((1 << a | 1 << b | 1 << c | 1 << d) == 0xF)
+              permutations.add(new int[] {a, b, c, d});
+    return permutations;
+  }
+
+  @Test
+  void canonicalHandsCoverEveryHandOnce() {
+    final long[] canonicalHands = SuitIsomorphism.canonicalHands();
+
+    long hands = 0;
+    final long[] byStrength = new long[HandEvaluator.NUMBER_OF_EQUIVALENCE_CLASSES + 1];
+    for (long hand : canonicalHands) {
+      assertThat(hand).isNotZero();
+      hands += SuitIsomorphism.multiplicity(hand);
+      byStrength[HandEvaluator.evaluate(hand)] += SuitIsomorphism.multiplicity(hand);
+    }
+
+    assertThat(hands).isEqualTo(HandEnumerator.NUMBER_OF_HANDS);
+    assertThat(byStrength).isEqualTo(HandEnumerator.countByStrength());
+  }
+
+  @Test
+  void canonicalIsTheSameForEveryRenaming() {
+    final long black = cardsOf("2H", "5H", "8H", "JH", "QS");
+    final long white = cardsOf("2C", "5D", "8C", "JC", "KS");
+    final long dead = cardsOf("AH", "AD");
+    final SuitIsomorphism.Canonical expected = SuitIsomorphism.canonical(black, white, dead);
+
+    final Set<List<Long>> members = new HashSet<>();
+    for (int[] permutation : permutations()) {
+      final long renamedBlack = rename(black, permutation);
+      final long renamedWhite = rename(white, permutation);
+      final long renamedDead = rename(dead, permutation);
+      members.add(List.of(renamedBlack, renamedWhite, renamedDead));
+
+      assertThat(SuitIsomorphism.canonical(renamedBlack, renamedWhite, renamedDead))
+          .isEqualTo(expected);
+      assertThat(HandEvaluator.evaluate(renamedBlack)).isEqualTo(HandEvaluator.evaluate(black));
+    }
+
+    assertThat(expected.getMultiplicity()).isEqualTo(members.size()).isEqualTo(24);
+  }
+
+  @Test
+  void canonicalSuitRenamesTheCardsIntoTheRepresentative() {
+    final long black = cardsOf("2H", "5H", "8H", "JH", "QS");
+    final long white = cardsOf("2C", "5D", "8C", "JC", "KS");
+    final long dead = cardsOf("AH", "AD");
+
+    final SuitIsomorphism.Canonical canonical = SuitIsomorphism.canonical(black, white, dead);
+
+    final int[] renaming = new int[4];
+    for (int suit = 0; suit < 4; suit++) {
+      renaming[suit] = canonical.canonicalSuit(suit);
+      assertThat(canonical.originalSuit(renaming[suit])).isEqualTo(suit);
+    }
+    assertThat(rename(black, renaming)).isEqualTo(canonical.getBlack());
+    assertThat(rename(white, renaming)).isEqualTo(canonical.getWhite());
+    assertThat(rename(dead, renaming)).isEqualTo(canonical.getDead());
+  }
+
+  @Test
+  void multiplicityCountsDistinctRenamings() {
+    // four of a kind with the kicker in any suit: every renaming keeps the quads
+    assertThat(SuitIsomorphism.multiplicity(cardsOf("7C", "7D", "7H", "7S", "2C"))).isEqualTo(4);
+    assertThat(SuitIsomorphism.multiplicity(cardsOf("2H", "5H", "8H", "JH", "QH"))).isEqualTo(4);
+    assertThat(SuitIsomorphism.multiplicity(cardsOf("2H", "5H", "8H", "JH", "QS"))).isEqualTo(12);
+    assertThat(SuitIsomorphism.multiplicity(cardsOf("2C", "5D", "8H", "JS", "QS"))).isEqualTo(24);
+  }
+
+  @Test
+  void canonicalKeepsTheDeadCardsApart() {
+    final long black = cardsOf("2H", "5H", "8H", "JH", "QH");
+    final long white = cardsOf("2C", "5C", "8C", "JC", "QC");
+
+    final SuitIsomorphism.Canonical withoutDead = SuitIsomorphism.canonical(black, white);
+    final SuitIsomorphism.Canonical withDead =
+        SuitIsomorphism.canonical(black, white, cardsOf("AS"));
+
+    assertThat(withoutDead.getMultiplicity()).isEqualTo(12);
+    assertThat(withDead.getMultiplicity()).isEqualTo(24);
+    assertThat(Long.bitCount(withDead.getDead())).isEqualTo(1);
+    assertThat(withDead.getBlack() & withDead.getWhite() & withDead.getDead()).isZero();
+  }
+}
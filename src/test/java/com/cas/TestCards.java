@@ -0,0 +1,26 @@
+package com.cas;
+
+/** Cards written by their two letters, e.g. "TH", in the forms the tests need. */
+final class TestCards {
+
+  private TestCards() {}
+
+  /** @return the codes of the cards, see {@link Card#getCode()} */
+  static int[] codesOf(final String... cards) {
+    final int[] codes = new int[cards.length];
+    for (int i = 0; i < cards.length; i++) codes[i] = Card.of(cards[i]).getCode();
+    return codes;
+  }
+
+  /** @return the cards packed by {@link PackedCards}, each at most once */
+  static long cardsOf(final String... cards) {
+    long hand = 0;
+    for (String card : cards) {
+      final long mask = PackedCards.maskOf(Card.of(card).getCode());
+      if ((hand & mask) != 0)
+        throw new RuntimeException(String.format("Card [%s] is repeated!", card));
+      hand |= mask;
+    }
+    return hand;
+  }
+}
@@ -0,0 +1,53 @@
+package com.cas;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WinningConditionTest {
+
+  @Test
+  void formatRank() {
+    assertThat(WinningCondition.rank(Player.BLACK, Rank.FULL_HOUSE, Rank.FLUSH).format())
+        .isEqualTo("[FULL_HOUSE] over [FLUSH]");
+  }
+
+  @Test
+  void formatValues() {
+    assertThat(
+            WinningCondition.values(Player.WHITE, Rank.TWO_PAIRS, 10, Rank.TWO_PAIRS, 8).format())
+        .isEqualTo("[TWO_PAIRS] value of [10] over [TWO_PAIRS] value of [8]");
+  }
+
+  @Test
+  void formatHighCards() {
+    assertThat(WinningCondition.highCards(Player.WHITE, Card.of("KH"), Card.of("9S")).format())
+        .isEqualTo("WHITE wins with [KING of HEARTS] over [NINE of SPADES]");
+  }
+
+  @Test
+  void formatHighCard() {
+    assertThat(WinningCondition.highCard(Player.BLACK, Rank.FLUSH, Card.of("QC")).format())
+        .isEqualTo("HIGH CARD: [QUEEN]");
+  }
+
+  @Test
+  void formatHighCardOfUnknownValue() {
+    assertThat(WinningCondition.highCard(Player.BLACK, Rank.HIGH_CARD, new Card("X", "C")).format())
+        .isEqualTo("HIGH CARD: [X]");
+  }
+
+  @Test
+  void formatMatchesGameResult() {
+    GameResult result =
+        new PokerGame(GameTracer.NO_OP)
+            .evaluate(
+                new String[] {"3C", "3D", "3S", "5C", "5D"},
+                new String[] {"2C", "2D", "2S", "5H", "5S"});
+
+    assertThat(result.getReason())
+        .isEqualTo(WinningCondition.values(Player.BLACK, Rank.FULL_HOUSE, 9, Rank.FULL_HOUSE, 6));
+    assertThat(result.format())
+        .isEqualTo("PLAYER [BLACK] WINS! REASON = " + result.getReason().format());
+  }
+}